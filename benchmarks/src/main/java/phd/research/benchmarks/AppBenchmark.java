@@ -0,0 +1,104 @@
+package phd.research.benchmarks;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import phd.research.core.DroidGraph;
+import phd.research.graph.Classifier;
+import phd.research.singletons.FlowDroidAnalysis;
+import phd.research.singletons.GraphSettings;
+import phd.research.utility.Filter;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Jordan Doyle
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppBenchmark {
+
+    // Fixture paths are relative to the repository root, override them with -D when running from elsewhere.
+    private static final String APK_FILE = System.getProperty("droidgraph.apk", "samples/Activity_Lifecycle_1.apk");
+    private static final String CALL_GRAPH_FILE =
+            System.getProperty("droidgraph.callgraph", "samples/Activity_Lifecycle_1.gml");
+    private static final String PLATFORM_DIRECTORY = System.getProperty("droidgraph.platform");
+
+    private File directory;
+    private List<SootMethod> methods;
+    private List<SootMethod> validMethods;
+    private List<String> signatures;
+    private DroidGraph droidGraph;
+    private Classifier classifier;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("droidgraph-app").toFile();
+
+        GraphSettings settings = GraphSettings.v();
+        settings.setApkFile(new File(AppBenchmark.APK_FILE));
+        settings.setCallGraphFile(new File(AppBenchmark.CALL_GRAPH_FILE));
+        if (AppBenchmark.PLATFORM_DIRECTORY != null) {
+            settings.setPlatformDirectory(new File(AppBenchmark.PLATFORM_DIRECTORY));
+        }
+        settings.setOutputDirectory(this.directory);
+        settings.validate();
+
+        FlowDroidAnalysis.v().runFlowDroid();
+        this.droidGraph = new DroidGraph();
+        this.classifier = new Classifier();
+
+        this.methods = new ArrayList<>();
+        this.validMethods = new ArrayList<>();
+        for (SootClass clazz : Scene.v().getApplicationClasses()) {
+            for (SootMethod method : clazz.getMethods()) {
+                this.methods.add(method);
+                if (Filter.isValidMethod(method)) {
+                    this.validMethods.add(method);
+                }
+            }
+        }
+
+        this.signatures = new ArrayList<>(this.validMethods.size());
+        this.validMethods.forEach(method -> this.signatures.add(method.getSignature()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(this.directory);
+    }
+
+    @Benchmark
+    public void filterIsValidMethod(Blackhole blackhole) {
+        for (SootMethod method : this.methods) {
+            blackhole.consume(Filter.isValidMethod(method));
+        }
+    }
+
+    @Benchmark
+    public void classifierGetMethodType(Blackhole blackhole) {
+        for (SootMethod method : this.validMethods) {
+            blackhole.consume(this.classifier.getMethodType(method));
+        }
+    }
+
+    @Benchmark
+    public void droidGraphGetMethodVertex(Blackhole blackhole) {
+        for (String signature : this.signatures) {
+            blackhole.consume(this.droidGraph.getMethodVertex(signature));
+        }
+    }
+}
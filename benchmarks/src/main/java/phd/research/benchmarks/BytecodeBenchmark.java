@@ -0,0 +1,38 @@
+package phd.research.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import phd.research.utility.Bytecode;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Jordan Doyle
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BytecodeBenchmark {
+
+    @Param({"1000"})
+    private int signatures;
+
+    private List<String> bytecodeSignatures;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.bytecodeSignatures = SyntheticGraphs.bytecodeSignatures(this.signatures);
+    }
+
+    @Benchmark
+    public void signatureToJimple(Blackhole blackhole) {
+        for (String signature : this.bytecodeSignatures) {
+            blackhole.consume(Bytecode.signatureToJimple(signature));
+        }
+    }
+}
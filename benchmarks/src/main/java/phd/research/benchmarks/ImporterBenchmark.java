@@ -0,0 +1,61 @@
+package phd.research.benchmarks;
+
+import org.apache.commons.io.FileUtils;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.openjdk.jmh.annotations.*;
+import phd.research.enums.Format;
+import phd.research.utility.Importer;
+import phd.research.utility.Writer;
+import phd.research.vertices.AndroGuardVertex;
+import phd.research.vertices.Vertex;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Jordan Doyle
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImporterBenchmark {
+
+    @Param({"1000", "10000"})
+    private int methods;
+
+    private File directory;
+    private File androGuardFile;
+    private File controlFlowGraphFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("droidgraph-importer").toFile();
+        this.androGuardFile = SyntheticGraphs.androGuardCallGraph(this.directory, this.methods, 4);
+        Writer.writeGraph(this.directory, "synthetic_control_flow_graph", Format.JSON,
+                SyntheticGraphs.controlFlowGraph(this.methods, 8, 4)
+                         );
+        this.controlFlowGraphFile = new File(this.directory, "synthetic_control_flow_graph.json");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(this.directory);
+    }
+
+    @Benchmark
+    public Graph<AndroGuardVertex, DefaultEdge> importAndroGuardGraph() {
+        return Importer.importAndroGuardGraph(this.androGuardFile);
+    }
+
+    @Benchmark
+    public Graph<Vertex, DefaultEdge> importDroidGraph() {
+        return Importer.importDroidGraph(this.controlFlowGraphFile);
+    }
+}
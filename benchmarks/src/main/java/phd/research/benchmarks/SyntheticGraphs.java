@@ -0,0 +1,132 @@
+package phd.research.benchmarks;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import phd.research.vertices.MethodVertex;
+import phd.research.vertices.UnitVertex;
+import phd.research.vertices.Vertex;
+import soot.*;
+import soot.jimple.IntConstant;
+import soot.jimple.Jimple;
+import soot.jimple.JimpleBody;
+import soot.jimple.NopStmt;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class SyntheticGraphs {
+
+    // Fixed seed so every fork benchmarks the same shapes.
+    private static final long SEED = 42;
+
+    private static final String[] TYPES = {"Z", "B", "C", "S", "I", "J", "F", "D", "Ljava/lang/String;",
+            "Landroid/os/Bundle;", "Landroid/view/View;", "[I", "[Ljava/lang/Object;"};
+
+    public static String bytecodeSignature(int index) {
+        Random random = new Random(SyntheticGraphs.SEED + index);
+        StringBuilder builder = new StringBuilder("Lcom/example/synthetic/package").append(index % 16)
+                .append("/Class").append(index).append(";->method").append(index).append("(");
+        int parameters = random.nextInt(4);
+        for (int i = 0; i < parameters; i++) {
+            builder.append(i == 0 ? "" : " ").append(TYPES[random.nextInt(TYPES.length)]);
+        }
+        return builder.append(")").append(random.nextBoolean() ? "V" : TYPES[random.nextInt(TYPES.length)])
+                .toString();
+    }
+
+    public static String jimpleSignature(int index) {
+        return "<com.example.synthetic.package" + (index % 16) + ".Class" + index + ": void method" + index + "()>";
+    }
+
+    public static List<String> bytecodeSignatures(int count) {
+        List<String> signatures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            signatures.add(SyntheticGraphs.bytecodeSignature(i));
+        }
+        return signatures;
+    }
+
+    public static Graph<Vertex, DefaultEdge> controlFlowGraph(int methods, int unitsPerMethod, int callsPerMethod) {
+        Random random = new Random(SyntheticGraphs.SEED);
+        Graph<Vertex, DefaultEdge> graph = new DefaultDirectedGraph<>(DefaultEdge.class);
+        List<MethodVertex> methodVertices = new ArrayList<>(methods);
+        for (int i = 0; i < methods; i++) {
+            MethodVertex methodVertex = new MethodVertex(SyntheticGraphs.jimpleSignature(i));
+            graph.addVertex(methodVertex);
+            methodVertices.add(methodVertex);
+
+            Vertex previous = methodVertex;
+            for (int j = 0; j < unitsPerMethod; j++) {
+                Vertex unitVertex = new UnitVertex(methodVertex.getMethodSignature(), "$i" + j + " = " + j);
+                graph.addVertex(unitVertex);
+                graph.addEdge(previous, unitVertex);
+                previous = unitVertex;
+            }
+        }
+
+        for (MethodVertex methodVertex : methodVertices) {
+            for (int i = 0; i < callsPerMethod; i++) {
+                graph.addEdge(methodVertex, methodVertices.get(random.nextInt(methods)));
+            }
+        }
+        return graph;
+    }
+
+    public static File androGuardCallGraph(File directory, int methods, int callsPerMethod) throws IOException {
+        Random random = new Random(SyntheticGraphs.SEED);
+        File file = new File(directory, "synthetic_call_graph.gml");
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            writer.write("graph [\n  directed 1\n");
+            for (int i = 0; i < methods; i++) {
+                // Roughly a third of AndroGuard methods are external in the sample apps.
+                writer.write(String.format("  node [\n    id %d\n    label \"%s\"\n    external %d\n    entrypoint %d\n" +
+                        "  ]\n", i, SyntheticGraphs.bytecodeSignature(i), random.nextInt(3) == 0 ? 1 : 0,
+                        i % 50 == 0 ? 1 : 0
+                                          ));
+            }
+            for (int i = 0; i < methods; i++) {
+                for (int j = 0; j < callsPerMethod; j++) {
+                    writer.write(String.format("  edge [\n    source %d\n    target %d\n  ]\n", i,
+                            random.nextInt(methods)
+                                              ));
+                }
+            }
+            writer.write("]\n");
+        }
+        return file;
+    }
+
+    public static Body methodBody(int statements) {
+        SootClass clazz = new SootClass("com.example.synthetic.BodyClass" + statements);
+        SootMethod method = new SootMethod("method", Collections.emptyList(), VoidType.v());
+        clazz.addMethod(method);
+        JimpleBody body = Jimple.v().newBody(method);
+
+        Local local = Jimple.v().newLocal("$i0", IntType.v());
+        body.getLocals().add(local);
+
+        // Straight-line assignments with a conditional branch every eight statements, like a typical callback.
+        NopStmt exit = Jimple.v().newNopStmt();
+        for (int i = 0; i < statements; i++) {
+            body.getUnits().add(Jimple.v().newAssignStmt(local, IntConstant.v(i)));
+            if (i % 8 == 7) {
+                body.getUnits().add(Jimple.v().newIfStmt(Jimple.v().newEqExpr(local, IntConstant.v(0)), exit));
+            }
+        }
+        body.getUnits().add(exit);
+        body.getUnits().add(Jimple.v().newReturnVoidStmt());
+        method.setActiveBody(body);
+        return body;
+    }
+}
@@ -0,0 +1,39 @@
+package phd.research.benchmarks;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.openjdk.jmh.annotations.*;
+import phd.research.graph.UnitGraph;
+import phd.research.vertices.Vertex;
+import soot.Body;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Jordan Doyle
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UnitGraphBenchmark {
+
+    @Param({"16", "256", "4096"})
+    private int statements;
+
+    private Body body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.body = SyntheticGraphs.methodBody(this.statements);
+    }
+
+    @Benchmark
+    public Graph<Vertex, DefaultEdge> generateGraph() {
+        // A fresh UnitGraph each time, otherwise getGraph() returns the graph generated by the first call.
+        return new UnitGraph(this.body).getGraph();
+    }
+}
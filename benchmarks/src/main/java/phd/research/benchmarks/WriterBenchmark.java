@@ -0,0 +1,52 @@
+package phd.research.benchmarks;
+
+import org.apache.commons.io.FileUtils;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.openjdk.jmh.annotations.*;
+import phd.research.enums.Format;
+import phd.research.utility.Writer;
+import phd.research.vertices.Vertex;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Jordan Doyle
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WriterBenchmark {
+
+    @Param({"DOT", "JSON", "GML"})
+    private Format format;
+
+    @Param({"1000", "10000"})
+    private int methods;
+
+    private File directory;
+    private Graph<Vertex, DefaultEdge> graph;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("droidgraph-writer").toFile();
+        this.graph = SyntheticGraphs.controlFlowGraph(this.methods, 8, 4);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(this.directory);
+    }
+
+    @Benchmark
+    public void writeGraph() throws IOException {
+        Writer.writeGraph(this.directory, "synthetic_control_flow_graph", this.format, this.graph);
+    }
+}
@@ -3,10 +3,16 @@ package phd.research.core;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import phd.research.graph.Control;
+import phd.research.helper.HierarchyResolver;
 import phd.research.helper.MenuFileParser;
+import phd.research.helper.Pair;
+import phd.research.helper.PhaseMetrics;
+import phd.research.helper.SceneCache;
+import phd.research.helper.SignaturePool;
 import phd.research.helper.Timer;
 import phd.research.singletons.FlowDroidAnalysis;
 import phd.research.singletons.GraphSettings;
+import phd.research.singletons.MetricsRegistry;
 import phd.research.utility.Filter;
 import phd.research.utility.Writer;
 import soot.*;
@@ -29,8 +35,10 @@ public class DroidControls {
     private static final Logger LOGGER = LoggerFactory.getLogger(DroidControls.class);
 
     private final Collection<Control> controls;
+    private final SceneCache<Pair<SootClass, Integer>, SootClass> layoutClasses;
 
     public DroidControls() {
+        this.layoutClasses = new SceneCache<>();
         this.controls = this.processFlowDroidControls();
     }
 
@@ -55,6 +63,7 @@ public class DroidControls {
     private Collection<Control> processFlowDroidControls() {
         Timer timer = new Timer();
         LOGGER.info("Parsing app controls... ({})", timer.start(true));
+        PhaseMetrics metrics = MetricsRegistry.v().startPhase(MetricsRegistry.CONTROL_PARSING);
 
         LayoutFileParser layoutParser = FlowDroidAnalysis.v().getLayoutFileParser();
         MultiMap<String, AndroidLayoutControl> layoutControls = layoutParser.getUserControls();
@@ -108,6 +117,8 @@ public class DroidControls {
             }
         }
 
+        metrics.setCount("controls", controls.size());
+        metrics.end();
         LOGGER.info("({}) Parsing app controls took {} second(s).", timer.end(), timer.secondsDuration());
         return controls;
     }
@@ -145,7 +156,8 @@ public class DroidControls {
 
             Control droidControl = new Control(controlResource.getResourceID(), controlResource.getResourceName(),
                     layoutResource.getResourceID(), layoutResource.getResourceName(), layoutClass.getName(),
-                    listeners.stream().map(SootMethod::getSignature).collect(Collectors.toList())
+                    listeners.stream().map(SootMethod::getSignature).map(SignaturePool::intern)
+                            .collect(Collectors.toList())
             );
             controls.add(droidControl);
         }
@@ -193,6 +205,11 @@ public class DroidControls {
     }
 
     private SootClass recursiveClassSearch(SootClass clazz, int id) {
+        // Shared superclasses are searched once per layout rather than once per subclass.
+        return HierarchyResolver.resolveClass(this.layoutClasses, clazz, id, this::classReferencesId);
+    }
+
+    private boolean classReferencesId(SootClass clazz, int id) {
         for (SootMethod method : clazz.getMethods()) {
             try {
                 method.retrieveActiveBody();
@@ -201,14 +218,10 @@ public class DroidControls {
             }
 
             if (method.hasActiveBody() && this.searchMethodInvokeExprForId(method, id)) {
-                return clazz;
+                return true;
             }
         }
-
-        if (clazz.hasSuperclass()) {
-            return this.recursiveClassSearch(clazz.getSuperclassUnsafe(), id);
-        }
-        return null;
+        return false;
     }
 
     private boolean searchMethodInvokeExprForId(SootMethod method, int id) {
@@ -1,40 +1,54 @@
 package phd.research.core;
 
 import org.jgrapht.Graph;
-import org.jgrapht.Graphs;
-import org.jgrapht.graph.DefaultDirectedGraph;
 import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DefaultListenableGraph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import phd.research.enums.Type;
+import phd.research.enums.Verification;
+import phd.research.graph.CallSiteIndex;
+import phd.research.graph.CallbacksStore;
+import phd.research.graph.ClassificationIndex;
 import phd.research.graph.Classifier;
+import phd.research.graph.CompactGraph;
 import phd.research.graph.Composition;
 import phd.research.graph.Control;
+import phd.research.graph.ExpandingGraph;
+import phd.research.graph.GraphBuilder;
+import phd.research.graph.IncrementalModel;
 import phd.research.graph.UnitGraph;
+import phd.research.graph.UnitGraphBuilder;
+import phd.research.graph.UnitGraphCache;
+import phd.research.graph.VertexIndex;
+import phd.research.helper.ContentVerifier;
+import phd.research.helper.FootprintReport;
+import phd.research.helper.HierarchyResolver;
 import phd.research.helper.Pair;
+import phd.research.helper.PhaseMetrics;
 import phd.research.helper.StringTable;
 import phd.research.helper.Timer;
 import phd.research.helper.Tuple;
 import phd.research.singletons.FlowDroidAnalysis;
 import phd.research.singletons.GraphSettings;
+import phd.research.singletons.MetricsRegistry;
 import phd.research.utility.Filter;
 import phd.research.utility.Importer;
 import phd.research.utility.LogHandler;
+import phd.research.utility.LogParser;
 import phd.research.utility.Writer;
 import phd.research.vertices.*;
 import soot.Scene;
 import soot.SootClass;
 import soot.SootMethod;
 import soot.Unit;
-import soot.jimple.toolkits.ide.icfg.JimpleBasedInterproceduralCFG;
 
 import javax.annotation.Nonnull;
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -47,41 +61,70 @@ public class DroidGraph {
 
     @Nonnull
     private final Graph<Vertex, DefaultEdge> controlFlowGraph;
+    @Nonnull
+    private final VertexIndex vertexIndex;
+    @Nonnull
+    private final UnitGraphCache unitGraphCache;
 
+    private ExpandingGraph expandingGraph;
+    private CallSiteIndex callSiteIndex;
     private DroidControls droidControls;
     private Graph<Vertex, DefaultEdge> callGraph;
+    private Map<String, String> classFingerprints;
+    private IncrementalModel previousModel;
+    private ClassificationIndex classificationIndex;
 
     public DroidGraph() {
+        this.vertexIndex = new VertexIndex();
+        this.unitGraphCache = new UnitGraphCache(GraphSettings.v().getUnitGraphCacheSize());
+        Graph<Vertex, DefaultEdge> graph;
         if (GraphSettings.v().isImportControlFlowGraph()) {
-            this.controlFlowGraph = Importer.importDroidGraph(GraphSettings.v().getContolFlowGraphFile());
+            graph = this.createIndexedGraph(Importer.importDroidGraph(GraphSettings.v().getContolFlowGraphFile()));
         } else {
-            this.controlFlowGraph = this.generateGraph();
-            verifyControlFlowGraphContents();
+            graph = this.generateGraph();
+            verifyControlFlowGraphContents(graph);
+        }
+
+        if (GraphSettings.v().isCompactControlFlowGraph()) {
+            LOGGER.info("Compacting control flow graph.");
+            graph = new CompactGraph(this.expandingGraph != null ? this.expandingGraph.getExpandedGraph() : graph);
+            this.expandingGraph = null;
         }
+        this.controlFlowGraph = graph;
     }
 
     @SuppressWarnings("unused")
-    public static Vertex getControlVertex(String activity, String controlName, Set<Vertex> vertices) {
-        return vertices.stream().filter(vertex -> vertex.getType() == Type.CONTROL).map(v -> (ControlVertex) v)
-                .filter(v -> v.getControl().getActivity().equals(activity) &&
-                        v.getControl().getControlName().equals(controlName)).findFirst().orElse(null);
+    public ControlVertex getControlVertex(String activity, String controlName) {
+        return this.vertexIndex.getControlVertex(activity, controlName);
     }
 
-    @SuppressWarnings("unused")
-    public static Vertex getControlVertex(String activity, int controlId, Set<Vertex> vertices) {
-        return vertices.stream().filter(vertex -> vertex.getType() == Type.CONTROL).map(v -> (ControlVertex) v)
-                .filter(v -> v.getControl().getActivity().equals(activity) &&
-                        v.getControl().getControlId() == controlId).findFirst().orElse(null);
+    public ControlVertex getControlVertex(String activity, int controlId) {
+        return this.vertexIndex.getControlVertex(activity, controlId);
     }
 
-    public static Vertex getUnitVertex(Unit unit, Set<Vertex> vertices) {
-        return vertices.stream().filter(vertex -> vertex.getType() == Type.UNIT &&
-                ((UnitVertex) vertex).getUnit().equals(unit.toString())).findFirst().orElse(null);
+    public MethodVertex getMethodVertex(String methodSignature) {
+        return this.vertexIndex.getMethodVertex(methodSignature);
     }
 
-    public static Vertex getMethodVertex(String methodSignature, Set<Vertex> vertices) {
-        return vertices.stream().filter(vertex -> vertex instanceof MethodVertex &&
-                ((MethodVertex) vertex).getMethodSignature().equals(methodSignature)).findFirst().orElse(null);
+    public UnitVertex getUnitVertex(Unit unit) {
+        return this.vertexIndex.getUnitVertex(unit);
+    }
+
+    public UnitVertex getUnitVertex(MethodVertex methodVertex, Unit unit) {
+        UnitVertex vertex = this.vertexIndex.getUnitVertex(unit);
+        if (vertex == null && this.expandingGraph != null) {
+            this.expandingGraph.expand(methodVertex);
+            vertex = this.vertexIndex.getUnitVertex(unit);
+        }
+        return vertex;
+    }
+
+    public UnitGraph getUnitGraph(MethodVertex methodVertex) {
+        return this.unitGraphCache.getUnitGraph(methodVertex);
+    }
+
+    public UnitGraphCache getUnitGraphCache() {
+        return this.unitGraphCache;
     }
 
     public DroidControls getDroidControls() {
@@ -94,18 +137,74 @@ public class DroidGraph {
     @Nonnull
     public Graph<Vertex, DefaultEdge> getCallGraph() {
         if (this.callGraph == null) {
-            this.callGraph = Importer.convertAndFilterAndroGuardGraph(Filter.getAndroGuardCallGraph());
+            this.callGraph =
+                    Importer.convertAndFilterAndroGuardGraph(Filter.getAndroGuardCallGraph(), this.getVertexFactory());
         }
         return this.callGraph;
     }
 
+    public ClassificationIndex getClassificationIndex() {
+        if (this.classificationIndex == null) {
+            if (!FlowDroidAnalysis.v().isFlowDroidExecuted()) {
+                FlowDroidAnalysis.v().runFlowDroid();
+            }
+
+            // Every class is reclassified, a type can depend on registrations or supertypes in a changed class.
+            this.classificationIndex = new ClassificationIndex();
+        }
+        return this.classificationIndex;
+    }
+
+    private VertexFactory getVertexFactory() {
+        return new VertexFactory(this.getClassificationIndex()::getMethodType);
+    }
+
+    private CallSiteIndex getCallSiteIndex() {
+        if (this.callSiteIndex == null) {
+            this.callSiteIndex = new CallSiteIndex(Scene.v().getCallGraph());
+            LOGGER.info("{} call sites indexed from the call graph.", this.callSiteIndex.size());
+        }
+        return this.callSiteIndex;
+    }
+
+    private Graph<Vertex, DefaultEdge> getExportGraph() {
+        if (this.expandingGraph == null) {
+            return this.getControlFlowGraph();
+        }
+
+        LOGGER.info("Expanding lazy unit graphs for export.");
+        return this.expandingGraph.getExpandedGraph();
+    }
+
+    public Map<String, String> getClassFingerprints() {
+        if (this.classFingerprints == null) {
+            this.classFingerprints = IncrementalModel.computeFingerprints();
+        }
+        return this.classFingerprints;
+    }
+
     @Nonnull
     public Graph<Vertex, DefaultEdge> getControlFlowGraph() {
         return this.controlFlowGraph;
     }
 
+    // Readers of the control flow graph hold the same lock, so exports never see a half applied batch.
+    public synchronized int applyDynamicAnalysisLog(Collection<String> lines) {
+        if (this.controlFlowGraph instanceof CompactGraph) {
+            throw new RuntimeException("Compact control flow graph cannot be augmented with dynamic analysis logs.");
+        }
+
+        int applied = 0;
+        for (String line : lines) {
+            if (this.applyDynamicAnalysisRecord(this.controlFlowGraph, line, true)) {
+                applied++;
+            }
+        }
+        return applied;
+    }
+
     @SuppressWarnings("unused")
-    public void resetVisits() {
+    public synchronized void resetVisits() {
         this.getControlFlowGraph().vertexSet().forEach(vertex -> {
             vertex.visitReset();
             vertex.localVisitReset();
@@ -113,38 +212,38 @@ public class DroidGraph {
     }
 
     @SuppressWarnings("unused")
-    public void resetLocalVisits() {
+    public synchronized void resetLocalVisits() {
         this.getControlFlowGraph().vertexSet().forEach(Vertex::localVisitReset);
     }
 
     @SuppressWarnings("unused")
-    public Collection<Vertex> getControlsVisited() {
+    public synchronized Collection<Vertex> getControlsVisited() {
         return this.getControlFlowGraph().vertexSet().stream().filter(v -> v instanceof ControlVertex && v.hasVisit())
                 .collect(Collectors.toSet());
     }
 
     @SuppressWarnings("unused")
-    public Collection<Vertex> getControlsNotVisited() {
+    public synchronized Collection<Vertex> getControlsNotVisited() {
         return this.getControlFlowGraph().vertexSet().stream().filter(v -> v instanceof ControlVertex && !v.hasVisit())
                 .collect(Collectors.toSet());
     }
 
     @SuppressWarnings("unused")
-    public Collection<Vertex> getMethodsVisited() {
+    public synchronized Collection<Vertex> getMethodsVisited() {
         return this.getControlFlowGraph().vertexSet().stream()
                 .filter(v -> v instanceof MethodVertex && v.getType() != Type.DUMMY && v.hasVisit())
                 .collect(Collectors.toSet());
     }
 
     @SuppressWarnings("unused")
-    public Collection<Vertex> getMethodsNotVisited() {
+    public synchronized Collection<Vertex> getMethodsNotVisited() {
         return this.getControlFlowGraph().vertexSet().stream()
                 .filter(v -> v instanceof MethodVertex && v.getType() != Type.DUMMY && !v.hasVisit())
                 .collect(Collectors.toSet());
     }
 
     @SuppressWarnings("unused")
-    public Pair<Float, Float> calculateCoverage() {
+    public synchronized Pair<Float, Float> calculateCoverage() {
         float interfaceCoverage, interfaceTotal, methodCoverage, methodTotal;
         interfaceCoverage = interfaceTotal = methodCoverage = methodTotal = 0;
 
@@ -176,7 +275,7 @@ public class DroidGraph {
                 new File(GraphSettings.v().getOutputDirectory() + File.separator + "vertex_visit_status.txt"));
     }
 
-    public void outputVertexVisitStatus(File outputFile) throws IOException {
+    public synchronized void outputVertexVisitStatus(File outputFile) throws IOException {
         StringBuilder builder = new StringBuilder();
 
         Collection<Vertex> vertices = this.getControlsVisited();
@@ -212,62 +311,59 @@ public class DroidGraph {
                           );
     }
 
-    public void outputCFGDetails() throws IOException {
+    public synchronized void outputCFGDetails() throws IOException {
         Writer.writeString(GraphSettings.v().getOutputDirectory(), "control_flow_graph_composition.txt",
-                new Composition(this.getControlFlowGraph()).toTableString()
+                new Composition(this.getExportGraph()).toTableString()
                           );
     }
 
-    public void writeFlowDroidAnalysisToFile() throws IOException {
-        if (!FlowDroidAnalysis.v().isFlowDroidExecuted()) {
-            FlowDroidAnalysis.v().runFlowDroid();
+    public synchronized void outputFootprintReport(FootprintReport footprint) throws IOException {
+        Graph<Vertex, DefaultEdge> callGraph = this.getCallGraph();
+        footprint.addStructure("Call graph", callGraph.vertexSet().size() + callGraph.edgeSet().size(),
+                FootprintReport.estimateGraph(callGraph)
+                              );
+        footprint.addStructure("Control flow graph",
+                this.controlFlowGraph.vertexSet().size() + this.controlFlowGraph.edgeSet().size(),
+                FootprintReport.estimateGraph(this.controlFlowGraph)
+                              );
+
+        // Only structures this run actually loaded are reported; loading them here would distort the report.
+        if (Filter.isCallGraphLoaded()) {
+            Graph<AndroGuardVertex, DefaultEdge> androGuardGraph = Filter.getAndroGuardCallGraph();
+            footprint.addStructure("Filter AndroGuard graph",
+                    androGuardGraph.vertexSet().size() + androGuardGraph.edgeSet().size(),
+                    FootprintReport.estimateGraph(androGuardGraph)
+                                  );
+            Map<String, Boolean> externalStatus = Filter.getMethodExternalStatus();
+            footprint.addStructure("Filter external status map", externalStatus.size(),
+                    FootprintReport.estimateMap(externalStatus)
+                                  );
         }
 
-        Collection<SootClass> filteredClasses = new HashSet<>();
-        Collection<SootMethod> allMethods = new HashSet<>(), filteredMethods = new HashSet<>(), standardMethods =
-                new HashSet<>(), lifecycleCallbacks = new HashSet<>(), listenerCallbacks = new HashSet<>(),
-                possibleCallbacks = new HashSet<>(), otherCallback = new HashSet<>(), ignoredMethods = new HashSet<>();
+        if (Classifier.isCallbacksLoaded()) {
+            CallbacksStore callbacks = Classifier.getCallbacksStore();
+            footprint.addStructure("Callbacks store", callbacks.getCallbackCount() + callbacks.getFragmentCount(),
+                    FootprintReport.estimateStrings(callbacks.getDictionary()) +
+                            FootprintReport.estimateIntArrays(callbacks.getClassCallbacks())
+                                  );
+        }
 
-        Classifier classifier = new Classifier();
+        footprint.sample("report");
+        Writer.writeString(GraphSettings.v().getOutputDirectory(), "footprint_report.txt", footprint.toTableString());
+    }
 
-        for (SootClass clazz : Scene.v().getClasses()) {
-            allMethods.addAll(clazz.getMethods());
-
-            if (Filter.isValidClass(clazz)) {
-                filteredClasses.add(clazz);
-
-                List<SootMethod> methods = clazz.getMethods();
-                for (SootMethod method : methods) {
-                    if (Filter.isValidMethod(method)) {
-                        filteredMethods.add(method);
-
-                        switch (classifier.getMethodType(method)) {
-                            case DUMMY:
-                                ignoredMethods.add(method);
-                                break;
-                            case LIFECYCLE:
-                                lifecycleCallbacks.add(method);
-                                break;
-                            case LISTENER:
-                                if (classifier.isListenerMethod(method)) {
-                                    listenerCallbacks.add(method);
-                                } else {
-                                    possibleCallbacks.add(method);
-                                }
-                                break;
-                            case CALLBACK:
-                                otherCallback.add(method);
-                                break;
-                            case METHOD:
-                                standardMethods.add(method);
-                                break;
-
-                        }
-                    }
-                }
-            }
+    public void writeFlowDroidAnalysisToFile() throws IOException {
+        if (!FlowDroidAnalysis.v().isFlowDroidExecuted()) {
+            FlowDroidAnalysis.v().runFlowDroid();
         }
 
+        ClassificationIndex index = this.getClassificationIndex();
+        Collection<SootClass> filteredClasses = index.getFilteredClasses();
+        Collection<SootMethod> allMethods = index.getAllMethods(), filteredMethods = index.getFilteredMethods(),
+                standardMethods = index.getMethods(Type.METHOD), lifecycleCallbacks = index.getMethods(Type.LIFECYCLE),
+                listenerCallbacks = index.getListenerMethods(), possibleCallbacks = index.getPossibleListenerMethods(),
+                otherCallback = index.getMethods(Type.CALLBACK), ignoredMethods = index.getMethods(Type.DUMMY);
+
         Writer.writeCollection(GraphSettings.v().getOutputDirectory(), "all_classes.txt", Scene.v().getClasses());
         Writer.writeCollection(GraphSettings.v().getOutputDirectory(), "filtered_classes.txt", filteredClasses);
         Writer.writeCollection(GraphSettings.v().getOutputDirectory(), "entry_point_classes.txt",
@@ -287,7 +383,7 @@ public class DroidGraph {
                 FlowDroidAnalysis.v().getLaunchActivities()
                               );
 
-        Map<SootClass, Set<SootClass>> fragments = classifier.getFragments();
+        Map<SootClass, Set<SootClass>> fragments = index.getFragments();
         Writer.writeMap(GraphSettings.v().getOutputDirectory(), "fragment_classes.txt", fragments);
     }
 
@@ -313,11 +409,50 @@ public class DroidGraph {
                          );
     }
 
-    public void writeControlFlowGraphToFile() throws IOException {
+    public synchronized void writeControlFlowGraphToFile() throws IOException {
         LOGGER.info("Exporting control flow graph in {} format(s).", GraphSettings.v().getFormat().name());
         Writer.writeGraph(GraphSettings.v().getOutputDirectory(), "app_control_flow_graph",
-                GraphSettings.v().getFormat(), this.getControlFlowGraph()
+                GraphSettings.v().getFormat(), this.getExportGraph()
                          );
+
+        if (FlowDroidAnalysis.v().isFlowDroidExecuted()) {
+            File graphFile = new File(GraphSettings.v().getOutputDirectory(), "app_control_flow_graph.json");
+            Writer.writeMap(GraphSettings.v().getOutputDirectory(),
+                    IncrementalModel.getFingerprintsFile(graphFile).getName(), this.getClassFingerprints()
+                           );
+            Writer.writeMap(GraphSettings.v().getOutputDirectory(),
+                    IncrementalModel.getUnitOrdinalsFile(graphFile).getName(), this.getUnitOrdinals()
+                           );
+        }
+    }
+
+    private Map<String, String> getUnitOrdinals() {
+        Map<String, String> unitOrdinals = new TreeMap<>();
+        for (String className : this.getClassFingerprints().keySet()) {
+            SootClass clazz = Scene.v().getSootClassUnsafe(className, false);
+            if (clazz == null) {
+                continue;
+            }
+
+            for (SootMethod method : clazz.getMethods()) {
+                if (!method.hasActiveBody()) {
+                    continue;
+                }
+
+                List<UnitVertex> unitVertices = new ArrayList<>();
+                method.getActiveBody().getUnits().forEach(unit -> unitVertices.add(this.getUnitVertex(unit)));
+                if (this.expandingGraph != null && unitVertices.contains(null)) {
+                    // Ordinals only depend on the order a method's vertices are created in, so it is rebuilt here.
+                    UnitGraph unitGraph = new UnitGraph(method.getActiveBody());
+                    unitVertices.clear();
+                    method.getActiveBody().getUnits().forEach(unit -> unitVertices.add(unitGraph.getUnitVertex(unit)));
+                }
+                if (!unitVertices.isEmpty() && !unitVertices.contains(null)) {
+                    unitOrdinals.put(method.getSignature(), IncrementalModel.computeUnitOrdinals(unitVertices));
+                }
+            }
+        }
+        return unitOrdinals;
     }
 
     public void writeControlsToFile() throws IOException {
@@ -350,30 +485,76 @@ public class DroidGraph {
         return StringTable.tableWithLines(data, true);
     }
 
+    private Graph<Vertex, DefaultEdge> createIndexedGraph(Graph<Vertex, DefaultEdge> graph) {
+        graph.vertexSet().forEach(this.vertexIndex::add);
+        return this.createListenableGraph(graph);
+    }
+
+    private Graph<Vertex, DefaultEdge> createListenableGraph(Graph<Vertex, DefaultEdge> graph) {
+        DefaultListenableGraph<Vertex, DefaultEdge> listenableGraph = new DefaultListenableGraph<>(graph);
+        listenableGraph.addVertexSetListener(this.vertexIndex);
+        return listenableGraph;
+    }
+
     private Graph<Vertex, DefaultEdge> generateGraph() {
         if (!FlowDroidAnalysis.v().isFlowDroidExecuted()) {
             FlowDroidAnalysis.v().runFlowDroid();
         }
+        // Filtering and classification state is loaded up front, once FlowDroid has written its callbacks.
+        Filter.loadCallGraph();
+        Classifier.loadCallbacks();
 
         Timer timer = new Timer();
         LOGGER.info("Running graph generation... ({})", timer.start(true));
 
+        if (GraphSettings.v().isIncrementalAnalysis()) {
+            LOGGER.info("Loading previous model for incremental analysis.");
+            File unitOrdinalsFile =
+                    IncrementalModel.getUnitOrdinalsFile(GraphSettings.v().getPreviousControlFlowGraphFile());
+            Map<String, String> unitOrdinals = Collections.emptyMap();
+            if (unitOrdinalsFile.isFile()) {
+                unitOrdinals = Importer.importUnitOrdinals(unitOrdinalsFile);
+            } else {
+                LOGGER.warn("No unit ordinals found at {}, every unit graph will be rebuilt.", unitOrdinalsFile);
+            }
+            this.previousModel = new IncrementalModel(
+                    Importer.importDroidGraph(GraphSettings.v().getPreviousControlFlowGraphFile()),
+                    Importer.importFingerprints(GraphSettings.v().getPreviousFingerprintsFile()), unitOrdinals,
+                    this.getClassFingerprints()
+            );
+        }
+
+        Graph<Vertex, DefaultEdge> callGraph = this.getCallGraph();
+        List<MethodVertex> methodVertices = new ArrayList<>();
+        callGraph.vertexSet().stream().filter(vertex -> vertex instanceof MethodVertex)
+                .forEach(vertex -> methodVertices.add((MethodVertex) vertex));
+
+        // Size the edge buffers from the method bodies so they rarely need to grow while unit graphs are added.
+        boolean lazyUnitGraphs = GraphSettings.v().isLazyUnitGraphs();
+        int numberOfUnits = lazyUnitGraphs ? 0 :
+                methodVertices.stream().map(vertex -> Scene.v().grabMethod(vertex.getMethodSignature()))
+                        .filter(method -> method != null && method.hasActiveBody())
+                        .mapToInt(method -> method.getActiveBody().getUnits().size()).sum();
+        GraphBuilder builder = new GraphBuilder(callGraph.vertexSet().size() + numberOfUnits,
+                callGraph.edgeSet().size() + numberOfUnits * 2
+        );
+        builder.addVertexSetListener(this.vertexIndex);
+
         LOGGER.info("Adding call graph vertices and edges to the control flow graph.");
-        Graph<Vertex, DefaultEdge> graph = new DefaultDirectedGraph<>(DefaultEdge.class);
-        Graphs.addGraph(graph, this.getCallGraph());
-        LOGGER.info("{} vertices and {} edges added to the control flow graph.", this.getCallGraph().vertexSet().size(),
-                this.getCallGraph().edgeSet().size()
+        builder.addGraph(callGraph);
+        LOGGER.info("{} vertices and {} edges added to the control flow graph.", callGraph.vertexSet().size(),
+                callGraph.edgeSet().size()
                    );
 
         LOGGER.info("Adding controls to the control flow graph.");
         this.getDroidControls().getControls().forEach(control -> {
             Vertex controlVertex = new ControlVertex(control);
-            graph.addVertex(controlVertex);
+            builder.addVertex(controlVertex);
             control.getListeners().forEach(method -> {
                 SootMethod listener = Scene.v().grabMethod(method);
-                Vertex listenerVertex = DroidGraph.getMethodVertex(listener.getSignature(), graph.vertexSet());
+                Vertex listenerVertex = this.getMethodVertex(listener.getSignature());
                 if (listenerVertex != null) {
-                    graph.addEdge(controlVertex, listenerVertex);
+                    builder.addEdge(controlVertex, listenerVertex);
                 } else {
                     LOGGER.error(String.format("Listener method %s not found in the graph.", listener));
                 }
@@ -381,95 +562,45 @@ public class DroidGraph {
         });
         LOGGER.info("{} controls added to the control flow graph.", this.getDroidControls().getControls().size());
 
-        LOGGER.info("Adding unit graphs to the control flow graph.");
-        AtomicInteger numberOfUnitGraphs = new AtomicInteger();
-        JimpleBasedInterproceduralCFG jimpleCFG = new JimpleBasedInterproceduralCFG();
-        Set<Vertex> graphVertices = new HashSet<>(graph.vertexSet());
-        graphVertices.stream().filter(vertex -> vertex.getType() != Type.CONTROL).forEach(vertex -> {
-            SootMethod method = Scene.v().grabMethod(((MethodVertex) vertex).getMethodSignature());
-            if (method.hasActiveBody()) {
-                UnitGraph unitGraph = new UnitGraph(method.getActiveBody());
-                Graph<Vertex, DefaultEdge> methodSubGraph = unitGraph.getGraph();
-                Graphs.addGraph(graph, methodSubGraph);
-                unitGraph.getRoots().forEach(root -> graph.addEdge(vertex, root));
-                numberOfUnitGraphs.getAndIncrement();
-
-                //TODO: Fix - jimpleCFG.getCalleesOfCallAt(caller) produces error 'method is referenced but has no body'
-                jimpleCFG.getCallsFromWithin(method).forEach(
-                        caller -> jimpleCFG.getCalleesOfCallAt(caller).stream().filter(Filter::isValidMethod)
-                                .forEach(callee -> {
-                                    Vertex callerVertex = DroidGraph.getUnitVertex(caller, graph.vertexSet());
-                                    if (callerVertex == null) {
-                                        LOGGER.error(String.format("Caller %s not found in the graph.", caller));
-                                    }
-                                    Vertex calleeVertex =
-                                            DroidGraph.getMethodVertex(callee.getSignature(), graph.vertexSet());
-                                    if (calleeVertex == null) {
-                                        LOGGER.error(String.format("Callee %s not found in the graph.", callee));
-                                        if (!callee.getDeclaringClass().getPackageName()
-                                                .startsWith(FlowDroidAnalysis.v().getBasePackageName())) {
-                                            LOGGER.info(
-                                                    String.format("Callee %s is probably not a valid method.", callee));
-                                        }
-                                        if (GraphSettings.v().isAddMissingComponents()) {
-                                            LOGGER.info(String.format("Adding %s method into the graph.", callee));
-                                            graph.addVertex(new VertexFactory().createVertex(callee));
-                                        }
-                                    }
-                                    if (callerVertex != null && calleeVertex != null) {
-                                        graph.addEdge(callerVertex, calleeVertex);
-                                    }
-                                }));
-                //TODO: Link method return unit back to the calling unit.
-            }
-        });
-        LOGGER.info("{} unit graphs added to the control flow graph.", numberOfUnitGraphs);
+        if (lazyUnitGraphs) {
+            LOGGER.info("Attaching method bodies for lazy unit graph expansion.");
+            methodVertices.forEach(vertex -> {
+                SootMethod method = Scene.v().grabMethod(vertex.getMethodSignature());
+                if (method != null && method.hasActiveBody()) {
+                    vertex.setBody(method.getActiveBody());
+                }
+            });
+        } else {
+            this.addUnitGraphs(builder, methodVertices);
+        }
+
+        LOGGER.info("Loading {} vertices and {} edges into the control flow graph.", builder.vertexCount(),
+                builder.edgeCount()
+                   );
+        Graph<Vertex, DefaultEdge> listenableGraph = this.createListenableGraph(builder.build());
+        // Unit graphs and their call sites are added when a traversal reaches the method, and removed on eviction.
+        this.expandingGraph = lazyUnitGraphs ? new ExpandingGraph(listenableGraph, this.unitGraphCache,
+                this.vertexIndex, this::linkExpandedUnitGraph
+        ) : null;
+        Graph<Vertex, DefaultEdge> graph = this.expandingGraph != null ? this.expandingGraph : listenableGraph;
 
         if (GraphSettings.v().isImportDynamicAnalysis()) {
             LOGGER.info("Augmenting control flow graph with dynamic analysis logs.");
-            File log = GraphSettings.v().getDynamicAnalysisLogFile();
-            try (BufferedReader bufferedReader = new BufferedReader(new FileReader(log))) {
-                String line;
-                while ((line = bufferedReader.readLine()) != null) {
-                    if (line.contains(LogHandler.M_TAG) || line.contains(LogHandler.C_TAG)) {
-                        LOGGER.debug("Dynamic analysis log: {}", line);
-                        Tuple<Integer, SootClass, SootMethod> logData = LogHandler.regexLogMessage(line);
-                        if (logData != null) {
-                            MethodVertex methodVertex =
-                                    (MethodVertex) DroidGraph.getMethodVertex(logData.getRight().getSignature(),
-                                            graph.vertexSet()
-                                                                             );
-                            if (methodVertex == null) {
-                                LOGGER.info("Adding method vertex with signature: {}", logData.getRight());
-                                VertexFactory factory = new VertexFactory();
-                                methodVertex = (MethodVertex) factory.createVertex(logData.getRight());
-                                graph.addVertex(methodVertex);
-                            }
-
-                            if (logData.getLeft() != -1) {
-                                ControlVertex controlVertex =
-                                        (ControlVertex) DroidGraph.getControlVertex(logData.getMiddle().getName(),
-                                                logData.getLeft(), graph.vertexSet()
-                                                                                   );
-                                if (controlVertex == null) {
-                                    LOGGER.info("Adding control vertex with Id: {}", logData.getLeft());
-                                    controlVertex = new ControlVertex(
-                                            new Control(logData.getLeft(), "Unknown", -1, "Unknown",
-                                                    logData.getMiddle().getName(), Collections.emptyList()
-                                            ));
-                                    graph.addVertex(controlVertex);
-                                }
-
-                                controlVertex.getControl()
-                                        .setListeners(Collections.singletonList(methodVertex.getMethodSignature()));
-                                graph.addEdge(controlVertex, methodVertex);
-                            }
-                        }
-                    }
-                }
+            PhaseMetrics metrics = MetricsRegistry.v().startPhase(MetricsRegistry.DYNAMIC_ANALYSIS);
+            LogParser parser = new LogParser(GraphSettings.v().getThreads(),
+                    records -> records.forEach(logData -> this.applyDynamicAnalysisData(graph, logData, false))
+            );
+            try {
+                parser.parse(GraphSettings.v().getDynamicAnalysisLogFile());
             } catch (IOException e) {
                 LOGGER.error("Failed to read traversal log: {}", e.getMessage());
             }
+            metrics.setCount("records", parser.getRecords());
+            metrics.setCount("duplicates", parser.getDuplicates());
+            metrics.setCacheStatistics("methodResolution", LogHandler.getResolutionHits(),
+                    LogHandler.getResolutionMisses()
+                                      );
+            metrics.end();
         }
 
         LOGGER.info("{} vertices and {} edges added to the control flow graph.", graph.vertexSet().size(),
@@ -479,24 +610,237 @@ public class DroidGraph {
         return graph;
     }
 
-    private void verifyControlFlowGraphContents() {
+    private void addUnitGraphs(GraphBuilder builder, List<MethodVertex> methodVertices) {
+        LOGGER.info("Adding unit graphs to the control flow graph.");
+        PhaseMetrics metrics = MetricsRegistry.v().startPhase(MetricsRegistry.UNIT_GRAPHS);
+        CallSiteIndex callSiteIndex = this.getCallSiteIndex();
+
+        UnitGraphBuilder unitGraphBuilder = new UnitGraphBuilder(GraphSettings.v().getThreads());
+        if (unitGraphBuilder.getThreads() > 1) {
+            LOGGER.info("Building unit graphs with {} threads.", unitGraphBuilder.getThreads());
+        }
+
+        // Counted from the merger, which always runs on this thread.
+        int[] numberOfUnitGraphs = {0};
+        int[] numberOfSplicedGraphs = {0};
+        unitGraphBuilder.build(methodVertices, vertex -> !this.isSpliceable(vertex), (vertex, unitGraphs) -> {
+            if (this.isSpliceable(vertex) && this.spliceUnitGraph(builder, vertex, callSiteIndex)) {
+                numberOfSplicedGraphs[0]++;
+                return;
+            }
+
+            UnitGraph unitGraph = unitGraphs.get();
+            if (unitGraph != null) {
+                this.addUnitGraph(builder, vertex, unitGraph, callSiteIndex);
+                numberOfUnitGraphs[0]++;
+            }
+        });
+        metrics.setCount("unitGraphs", numberOfUnitGraphs[0]);
+        metrics.setCount("splicedUnitGraphs", numberOfSplicedGraphs[0]);
+        metrics.setCount("callSites", callSiteIndex.size());
+        metrics.setCount("vertices", builder.vertexCount());
+        metrics.setCount("edges", builder.edgeCount());
+        metrics.end();
+        LOGGER.info("{} unit graphs added to the control flow graph.", numberOfUnitGraphs[0]);
+        if (this.previousModel != null) {
+            LOGGER.info("{} unit graphs reused from the previous model.", numberOfSplicedGraphs[0]);
+        }
+    }
+
+    private boolean applyDynamicAnalysisRecord(Graph<Vertex, DefaultEdge> graph, String line, boolean visit) {
+        if (!line.contains(LogHandler.M_TAG) && !line.contains(LogHandler.C_TAG)) {
+            return false;
+        }
+
+        LOGGER.debug("Dynamic analysis log: {}", line);
+        Tuple<Integer, SootClass, SootMethod> logData = LogHandler.regexLogMessage(line);
+        if (logData == null) {
+            return false;
+        }
+
+        this.applyDynamicAnalysisData(graph, logData, visit);
+        return true;
+    }
+
+    private void applyDynamicAnalysisData(Graph<Vertex, DefaultEdge> graph,
+            Tuple<Integer, SootClass, SootMethod> logData, boolean visit) {
+        MethodVertex methodVertex = this.getMethodVertex(logData.getRight().getSignature());
+        if (methodVertex == null) {
+            LOGGER.info("Adding method vertex with signature: {}", logData.getRight());
+            methodVertex = (MethodVertex) this.getVertexFactory().createVertex(logData.getRight());
+            graph.addVertex(methodVertex);
+        }
+        if (visit) {
+            methodVertex.visit();
+        }
+
+        if (logData.getLeft() != -1) {
+            ControlVertex controlVertex = this.getControlVertex(logData.getMiddle().getName(), logData.getLeft());
+            if (controlVertex == null) {
+                LOGGER.info("Adding control vertex with Id: {}", logData.getLeft());
+                controlVertex = new ControlVertex(
+                        new Control(logData.getLeft(), "Unknown", -1, "Unknown", logData.getMiddle().getName(),
+                                Collections.emptyList()
+                        ));
+                graph.addVertex(controlVertex);
+            }
+
+            controlVertex.getControl().setListeners(Collections.singletonList(methodVertex.getMethodSignature()));
+            graph.addEdge(controlVertex, methodVertex);
+            if (visit) {
+                controlVertex.visit();
+            }
+        }
+    }
+
+    private void addUnitGraph(GraphBuilder builder, MethodVertex vertex, UnitGraph unitGraph,
+            CallSiteIndex callSiteIndex) {
+        builder.addGraph(unitGraph.getGraph());
+        this.vertexIndex.addUnitVertices(unitGraph.getUnitVertices());
+        unitGraph.getRoots().forEach(root -> builder.addEdge(vertex, root));
+        this.linkCallSites(builder::addVertex, builder::addEdge, unitGraph.getBody().getUnits(),
+                unitGraph.getUnitVertices(), callSiteIndex
+                          );
+    }
+
+    private void linkExpandedUnitGraph(Graph<Vertex, DefaultEdge> graph, UnitGraph unitGraph) {
+        this.linkCallSites(graph::addVertex, graph::addEdge,
+                unitGraph.getBody().getUnits(), unitGraph.getUnitVertices(), this.getCallSiteIndex()
+                          );
+    }
+
+    private boolean isSpliceable(MethodVertex vertex) {
+        return this.previousModel != null && this.previousModel.getUnitGraph(vertex.getMethodSignature()) != null;
+    }
+
+    private boolean spliceUnitGraph(GraphBuilder builder, MethodVertex vertex, CallSiteIndex callSiteIndex) {
+        SootMethod method = Scene.v().grabMethod(vertex.getMethodSignature());
+        if (method == null || !method.hasActiveBody()) {
+            return false;
+        }
+
+        // The class is unchanged, so units are matched to the previous vertices by their position in the body.
+        Map<Unit, UnitVertex> unitVertices =
+                this.previousModel.matchUnits(vertex.getMethodSignature(), method.getActiveBody().getUnits());
+        if (unitVertices == null) {
+            LOGGER.warn("Previous unit graph of {} does not match its body, rebuilding.", method);
+            return false;
+        }
+
+        Graph<Vertex, DefaultEdge> unitGraph = this.previousModel.getUnitGraph(vertex.getMethodSignature());
+
+        builder.addGraph(unitGraph);
+        this.vertexIndex.addUnitVertices(unitVertices);
+        unitGraph.vertexSet().stream().filter(unitVertex -> unitGraph.inDegreeOf(unitVertex) == 0)
+                .forEach(root -> builder.addEdge(vertex, root));
+        this.linkCallSites(builder::addVertex, builder::addEdge, method.getActiveBody().getUnits(), unitVertices,
+                callSiteIndex
+                          );
+        return true;
+    }
+
+    private void linkCallSites(Consumer<Vertex> addVertex, BiConsumer<Vertex, Vertex> addEdge, Collection<Unit> units,
+            Map<Unit, UnitVertex> unitVertices, CallSiteIndex callSiteIndex) {
+        units.forEach(caller -> callSiteIndex.getCallees(caller).forEach(callee -> {
+            Vertex callerVertex = unitVertices.get(caller);
+            if (callerVertex == null) {
+                LOGGER.error(String.format("Caller %s not found in the graph.", caller));
+            }
+            Vertex calleeVertex = this.getMethodVertex(callee.getSignature());
+            if (calleeVertex == null) {
+                LOGGER.error(String.format("Callee %s not found in the graph.", callee));
+                if (!callee.getDeclaringClass().getPackageName()
+                        .startsWith(FlowDroidAnalysis.v().getBasePackageName())) {
+                    LOGGER.info(String.format("Callee %s is probably not a valid method.", callee));
+                }
+                if (GraphSettings.v().isAddMissingComponents()) {
+                    LOGGER.info(String.format("Adding %s method into the graph.", callee));
+                    addVertex.accept(this.getVertexFactory().createVertex(callee));
+                }
+            }
+            if (callerVertex != null && calleeVertex != null) {
+                addEdge.accept(callerVertex, calleeVertex);
+            }
+        }));
+        //TODO: Link method return unit back to the calling unit.
+    }
+
+    private void verifyControlFlowGraphContents(Graph<Vertex, DefaultEdge> graph) {
+        Verification verification = GraphSettings.v().getVerification();
+        if (verification == Verification.OFF) {
+            LOGGER.info("Content verification is turned off.");
+            return;
+        }
+
         Timer timer = new Timer();
-        LOGGER.info("Verifying Control Flow Graph Content... ({})", timer.start(true));
-        boolean problemFound = false;
+        LOGGER.info("Verifying Control Flow Graph Content ({})... ({})", verification.name(), timer.start(true));
+        PhaseMetrics metrics = MetricsRegistry.v().startPhase(MetricsRegistry.VERIFICATION);
+
+        // Lazily built state is created up front so the checks below only ever read it.
+        this.getDroidControls();
+        this.getClassificationIndex();
+        this.getCallGraph();
 
-        LOGGER.info("Searching for missing controls.");
         Collection<Control> missingControls = new HashSet<>();
-        for (Control control : this.getDroidControls().getControls()) {
-            boolean foundControl = false;
-            for (Vertex vertex : this.getControlFlowGraph().vertexSet()) {
-                if (vertex instanceof ControlVertex) {
-                    if (((ControlVertex) vertex).getControl().equals(control)) {
-                        foundControl = true;
-                    }
+        Collection<SootMethod> missingMethods = new HashSet<>();
+        List<String> findings = new ContentVerifier(verification)
+                .addSearch(() -> this.findMissingControls(graph, missingControls),
+                        () -> this.addMissingControls(graph, missingControls)
+                          )
+                .addSearch(() -> this.findMissingMethods(graph, missingMethods),
+                        () -> this.addMissingMethods(graph, missingMethods)
+                          )
+                .addCheck(() -> this.checkCompositions(graph))
+                .addFullCheck(() -> DroidGraph.findDuplicateMethods(graph))
+                .verify();
+
+        if (findings.isEmpty()) {
+            LOGGER.info("Content verification finished without any problems.");
+        } else {
+            findings.forEach(LOGGER::warn);
+            if (GraphSettings.v().isOutputMissingComponents()) {
+                try {
+                    Writer.writeCollection(GraphSettings.v().getOutputDirectory(), "verification_report.txt", findings);
+                } catch (IOException e) {
+                    LOGGER.error("Error writing verification report to output file.{}", e.getMessage());
                 }
             }
+        }
+
+        metrics.setCount("vertices", graph.vertexSet().size());
+        metrics.setCount("edges", graph.edgeSet().size());
+        metrics.setCount("problemsFound", findings.size());
+        metrics.setCacheStatistics("hierarchyResolution", HierarchyResolver.getHits(), HierarchyResolver.getMisses());
+        metrics.end();
+        LOGGER.info("({}) Content verification took {} second(s).", timer.end(), timer.secondsDuration());
+    }
 
-            if (!foundControl) {
+    private void addMissingControls(Graph<Vertex, DefaultEdge> graph, Collection<Control> missingControls) {
+        if (GraphSettings.v().isAddMissingComponents() && !missingControls.isEmpty()) {
+            LOGGER.info(String.format("Adding %s controls into the graph.", missingControls.size()));
+            missingControls.forEach(control -> graph.addVertex(new ControlVertex(control)));
+        }
+    }
+
+    private void addMissingMethods(Graph<Vertex, DefaultEdge> graph, Collection<SootMethod> missingMethods) {
+        if (GraphSettings.v().isAddMissingComponents() && !missingMethods.isEmpty()) {
+            LOGGER.info(String.format("Adding %s methods into the graph.", missingMethods.size()));
+            VertexFactory factory = this.getVertexFactory();
+            missingMethods.forEach(method -> graph.addVertex(factory.createVertex(method)));
+        }
+    }
+
+    private List<String> findMissingControls(Graph<Vertex, DefaultEdge> graph, Collection<Control> missingControls) {
+        LOGGER.info("Searching for missing controls.");
+        Set<Control> graphControls = new HashSet<>();
+        for (Vertex vertex : graph.vertexSet()) {
+            if (vertex instanceof ControlVertex) {
+                graphControls.add(((ControlVertex) vertex).getControl());
+            }
+        }
+
+        for (Control control : this.getDroidControls().getControls()) {
+            if (!graphControls.contains(control)) {
                 missingControls.add(control);
             }
         }
@@ -509,45 +853,26 @@ public class DroidGraph {
             }
         }
 
-        if (!missingControls.isEmpty()) {
-            problemFound = true;
-            LOGGER.error(String.format("Found %s controls that are not in the graph.", missingControls.size()));
-            if (GraphSettings.v().isAddMissingComponents()) {
-                LOGGER.info(String.format("Adding %s controls into the graph.", missingControls.size()));
-                missingControls.forEach(control -> this.getControlFlowGraph().addVertex(new ControlVertex(control)));
-            }
-        }
+        return missingControls.isEmpty() ? Collections.emptyList() : Collections.singletonList(
+                String.format("Found %s controls that are not in the graph.", missingControls.size()));
+    }
 
+    private List<String> findMissingMethods(Graph<Vertex, DefaultEdge> graph, Collection<SootMethod> missingMethods) {
         LOGGER.info("Searching for missing methods.");
-        Collection<SootMethod> missingMethods = new HashSet<>();
-        Scene.v().getClasses().stream().filter(Filter::isValidClass)
-                .forEach(clazz -> clazz.getMethods().stream().filter(Filter::isValidMethod).forEach(method -> {
-                    boolean foundMethod = false;
-                    for (Vertex vertex : this.getControlFlowGraph().vertexSet()) {
-                        if (vertex instanceof MethodVertex) {
-                            if (((MethodVertex) vertex).getMethodSignature().equals(method.getSignature())) {
-                                foundMethod = true;
-                                break;
-                            }
-                        }
-                    }
+        Set<String> graphMethods = new HashSet<>();
+        for (Vertex vertex : graph.vertexSet()) {
+            if (vertex instanceof MethodVertex) {
+                graphMethods.add(((MethodVertex) vertex).getMethodSignature());
+            }
+        }
 
-                    if (!foundMethod) {
-                        SootClass currentClass = method.getDeclaringClass();
-                        boolean found = false;
-                        while (currentClass.hasSuperclass()) {
-                            currentClass = currentClass.getSuperclass();
-                            SootMethod superClassMethod = currentClass.getMethodUnsafe(method.getSubSignature());
-                            if (superClassMethod != null) {
-                                found = true;
-                                break;
-                            }
-                        }
-                        if (!found) {
-                            missingMethods.add(method);
-                        }
-                    }
-                }));
+        for (SootMethod method : this.getClassificationIndex().getFilteredMethods()) {
+            if (!graphMethods.contains(method.getSignature()) &&
+                    HierarchyResolver.resolveSuperclassMethod(method.getDeclaringClass(), method.getSubSignature()) ==
+                            null) {
+                missingMethods.add(method);
+            }
+        }
 
         if (GraphSettings.v().isOutputMissingComponents()) {
             try {
@@ -557,77 +882,28 @@ public class DroidGraph {
             }
         }
 
-        if (!missingMethods.isEmpty()) {
-            problemFound = true;
-            LOGGER.error(String.format("Found %s methods that are not in the graph.", missingMethods.size()));
-            if (GraphSettings.v().isAddMissingComponents()) {
-                LOGGER.info(String.format("Adding %s methods into the graph.", missingMethods.size()));
-                missingMethods.forEach(
-                        method -> this.getControlFlowGraph().addVertex(new VertexFactory().createVertex(method)));
-            }
-        }
-
-        if (!FlowDroidAnalysis.v().isFlowDroidExecuted()) {
-            FlowDroidAnalysis.v().runFlowDroid();
-        }
-
-        LOGGER.info("Collecting class and method classifications.");
-        Collection<SootClass> filteredClasses = new HashSet<>();
-        Collection<SootMethod> allMethods = new HashSet<>(), filteredMethods = new HashSet<>(), standardMethods =
-                new HashSet<>(), lifecycleCallbacks = new HashSet<>(), listenerCallbacks = new HashSet<>(),
-                possibleCallbacks = new HashSet<>(), otherCallback = new HashSet<>(), ignoredMethods = new HashSet<>();
-
-        Classifier classifier = new Classifier();
-
-        for (SootClass clazz : Scene.v().getClasses()) {
-            allMethods.addAll(clazz.getMethods());
-
-            if (Filter.isValidClass(clazz)) {
-                filteredClasses.add(clazz);
-
-                List<SootMethod> methods = clazz.getMethods();
-                for (SootMethod method : methods) {
-                    if (Filter.isValidMethod(method)) {
-                        filteredMethods.add(method);
-
-                        switch (classifier.getMethodType(method)) {
-                            case DUMMY:
-                                ignoredMethods.add(method);
-                                break;
-                            case LIFECYCLE:
-                                lifecycleCallbacks.add(method);
-                                break;
-                            case LISTENER:
-                                if (classifier.isListenerMethod(method)) {
-                                    listenerCallbacks.add(method);
-                                } else {
-                                    possibleCallbacks.add(method);
-                                }
-                                break;
-                            case CALLBACK:
-                                otherCallback.add(method);
-                                break;
-                            case METHOD:
-                                standardMethods.add(method);
-                                break;
-
-                        }
-                    }
-                }
-            }
-        }
+        return missingMethods.isEmpty() ? Collections.emptyList() : Collections.singletonList(
+                String.format("Found %s methods that are not in the graph.", missingMethods.size()));
+    }
 
+    private List<String> checkCompositions(Graph<Vertex, DefaultEdge> graph) {
         LOGGER.info("Verifying methods in FlowDroid match methods in control flow graph.");
+        List<String> findings = new ArrayList<>();
+        ClassificationIndex index = this.getClassificationIndex();
+        Collection<SootClass> filteredClasses = index.getFilteredClasses();
+        Collection<SootMethod> allMethods = index.getAllMethods(), filteredMethods = index.getFilteredMethods(),
+                standardMethods = index.getMethods(Type.METHOD), lifecycleCallbacks = index.getMethods(Type.LIFECYCLE),
+                listenerCallbacks = index.getListenerMethods(), possibleCallbacks = index.getPossibleListenerMethods(),
+                otherCallback = index.getMethods(Type.CALLBACK), ignoredMethods = index.getMethods(Type.DUMMY);
 
         Map<String, Collection<SootClass>> classEmptyCheckMap = new HashMap<>();
-        classEmptyCheckMap.put("all classes", Scene.v().getClasses());
+        classEmptyCheckMap.put("all classes", index.getAllClasses());
         classEmptyCheckMap.put("filtered classes", filteredClasses);
         classEmptyCheckMap.put("entry point classes", FlowDroidAnalysis.v().getEntryPointClasses());
         classEmptyCheckMap.put("launch activities", FlowDroidAnalysis.v().getLaunchActivities());
         for (Map.Entry<String, Collection<SootClass>> entry : classEmptyCheckMap.entrySet()) {
             if (entry.getValue().isEmpty()) {
-                problemFound = true;
-                LOGGER.warn("No classes in {}.", entry.getKey());
+                findings.add(String.format("No classes in %s.", entry.getKey()));
             }
         }
 
@@ -638,16 +914,14 @@ public class DroidGraph {
         methodEmptyCheckMap.put("launch activities", standardMethods);
         for (Map.Entry<String, Collection<SootMethod>> entry : methodEmptyCheckMap.entrySet()) {
             if (entry.getValue().isEmpty()) {
-                problemFound = true;
-                LOGGER.warn("No methods in {}.", entry.getKey());
+                findings.add(String.format("No methods in %s.", entry.getKey()));
             }
         }
 
         if (filteredMethods.size() !=
                 (standardMethods.size() + possibleCallbacks.size() + otherCallback.size() + listenerCallbacks.size() +
                         lifecycleCallbacks.size() + ignoredMethods.size())) {
-            problemFound = true;
-            LOGGER.warn("Number of filtered methods does not equal number of classified methods.");
+            findings.add("Number of filtered methods does not equal number of classified methods.");
         }
 
         Composition cgComposition = new Composition(this.getCallGraph());
@@ -657,16 +931,14 @@ public class DroidGraph {
         callGraphEmptyCheckMap.put("controls", cgComposition.getControl());
         for (Map.Entry<String, Integer> entry : callGraphEmptyCheckMap.entrySet()) {
             if (entry.getValue() != 0) {
-                problemFound = true;
-                LOGGER.warn("Call graph contains {}.", entry.getKey());
+                findings.add(String.format("Call graph contains %s.", entry.getKey()));
             }
         }
 
         if (cgComposition.getVertex() !=
                 (cgComposition.getMethod() + cgComposition.getCallback() + cgComposition.getListener() +
                         cgComposition.getLifecycle())) {
-            problemFound = true;
-            LOGGER.warn("Call graph method type counts does not match vertex count.");
+            findings.add("Call graph method type counts does not match vertex count.");
         }
 
         Map<String, Pair<Integer, Integer>> callGraphCountCheckMap = new HashMap<>();
@@ -679,26 +951,27 @@ public class DroidGraph {
                                   );
         for (Map.Entry<String, Pair<Integer, Integer>> entry : callGraphCountCheckMap.entrySet()) {
             if (!entry.getValue().getLeft().equals(entry.getValue().getRight())) {
-                problemFound = true;
-                LOGGER.warn("{} methods count does not match call graph composition count.", entry.getKey());
+                findings.add(String.format("%s methods count does not match call graph composition count.",
+                        entry.getKey()
+                                          ));
             }
         }
 
-        Composition cfgComposition = new Composition(this.getControlFlowGraph());
+        Composition cfgComposition = new Composition(graph);
         if (cfgComposition.getDummy() != 0) {
-            problemFound = true;
-            LOGGER.warn("Control flow graph contains dummy methods.");
+            findings.add("Control flow graph contains dummy methods.");
         }
 
         Map<String, Integer> controlFlowGraphEmptyCheckMap = new HashMap<>();
-        controlFlowGraphEmptyCheckMap.put("units", cfgComposition.getUnit());
+        if (!GraphSettings.v().isLazyUnitGraphs()) {
+            controlFlowGraphEmptyCheckMap.put("units", cfgComposition.getUnit());
+        }
         controlFlowGraphEmptyCheckMap.put("standard methods", cfgComposition.getMethod());
         controlFlowGraphEmptyCheckMap.put("lifecycle methods", cfgComposition.getLifecycle());
         controlFlowGraphEmptyCheckMap.put("controls", cfgComposition.getControl());
         for (Map.Entry<String, Integer> entry : controlFlowGraphEmptyCheckMap.entrySet()) {
             if (entry.getValue() == 0) {
-                problemFound = true;
-                LOGGER.warn("Control flow graph contains no {}.", entry.getKey());
+                findings.add(String.format("Control flow graph contains no %s.", entry.getKey()));
             }
         }
 
@@ -706,13 +979,11 @@ public class DroidGraph {
                 (cfgComposition.getUnit() + cfgComposition.getMethod() + cgComposition.getCallback() +
                         cgComposition.getListener() + cgComposition.getLifecycle() + cgComposition.getDummy() +
                         cfgComposition.getControl())) {
-            problemFound = true;
-            LOGGER.warn("Control flow graph vertex type counts do not match total vertex count.");
+            findings.add("Control flow graph vertex type counts do not match total vertex count.");
         }
 
         if (this.getDroidControls().getControls().size() != cfgComposition.getControl()) {
-            problemFound = true;
-            LOGGER.warn("Control flow graph does not contain all the found controls.");
+            findings.add("Control flow graph does not contain all the found controls.");
         }
 
         Map<String, Pair<Integer, Integer>> cfgCountCheckMap = new HashMap<>();
@@ -723,35 +994,27 @@ public class DroidGraph {
         cfgCountCheckMap.put("Listener", new Pair<>(cgComposition.getListener(), cfgComposition.getListener()));
         for (Map.Entry<String, Pair<Integer, Integer>> entry : cfgCountCheckMap.entrySet()) {
             if (!entry.getValue().getLeft().equals(entry.getValue().getRight())) {
-                problemFound = true;
-                LOGGER.warn("{} count does not match between control flow graph and call graph count.", entry.getKey());
+                findings.add(String.format("%s count does not match between control flow graph and call graph count.",
+                        entry.getKey()
+                                          ));
             }
         }
 
+        return findings;
+    }
+
+    private static List<String> findDuplicateMethods(Graph<Vertex, DefaultEdge> graph) {
         LOGGER.info("Looking for duplicate methods in control flow graph.");
-        List<String> duplicates = new ArrayList<>();
+        List<String> findings = new ArrayList<>();
         Set<String> set = new HashSet<>();
-        for (Vertex vertex : this.getControlFlowGraph().vertexSet()) {
+        for (Vertex vertex : graph.vertexSet()) {
             if (vertex instanceof MethodVertex) {
                 String methodSignature = ((MethodVertex) vertex).getMethodSignature().replace("'", "");
-                if (set.contains(methodSignature)) {
-                    duplicates.add(methodSignature);
-                } else {
-                    set.add(methodSignature);
+                if (!set.add(methodSignature)) {
+                    findings.add(String.format("Method %s is duplicated in the graph.", methodSignature));
                 }
             }
         }
-        if (!duplicates.isEmpty()) {
-            problemFound = true;
-            for (String methodSignature : duplicates) {
-                LOGGER.warn("Method {} is duplicated in the graph.", methodSignature);
-            }
-        }
-
-        if (!problemFound) {
-            LOGGER.info("Content verification finished without any problems.");
-        }
-
-        LOGGER.info("({}) Content verification took {} second(s).", timer.end(), timer.secondsDuration());
+        return findings;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,202 @@
+package phd.research.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import phd.research.utility.LogHandler;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class DynamicLogFollower {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DynamicLogFollower.class);
+
+    private static final int BATCH_SIZE = 64;
+    private static final int POLL_INTERVAL = 250;
+
+    private final ToIntFunction<Collection<String>> applier;
+    private final Runnable batchListener;
+    private final List<String> batch;
+
+    private volatile boolean running;
+    private volatile ServerSocket serverSocket;
+    private long appliedRecords;
+
+    public DynamicLogFollower(DroidGraph droidGraph, Runnable batchListener) {
+        this(droidGraph::applyDynamicAnalysisLog, batchListener);
+    }
+
+    public DynamicLogFollower(ToIntFunction<Collection<String>> applier, Runnable batchListener) {
+        this.applier = applier;
+        this.batchListener = batchListener;
+        this.batch = new ArrayList<>(DynamicLogFollower.BATCH_SIZE);
+        this.running = true;
+    }
+
+    public void stop() {
+        this.running = false;
+        ServerSocket socket = this.serverSocket;
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                LOGGER.error("Failed to close dynamic analysis socket: {}", e.getMessage());
+            }
+        }
+    }
+
+    public void followFile(File logFile) throws IOException {
+        LOGGER.info("Following dynamic analysis log file {}", logFile);
+        Path path = logFile.toPath();
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        long offset = 0;
+        Object fileKey = null;
+        try {
+            while (this.running) {
+                BasicFileAttributes attributes =
+                        logFile.isFile() ? Files.readAttributes(path, BasicFileAttributes.class) : null;
+                if (attributes != null && (attributes.size() < offset ||
+                        (fileKey != null && !fileKey.equals(attributes.fileKey())))) {
+                    LOGGER.info("{} was truncated or rotated, following from the start.", logFile);
+                    offset = 0;
+                    line.reset();
+                }
+
+                if (attributes == null || attributes.size() == offset) {
+                    // Caught up with the writer; apply what we have and wait for the file to grow.
+                    this.flush();
+                    if (!this.sleep()) {
+                        break;
+                    }
+                    continue;
+                }
+
+                fileKey = attributes.fileKey();
+                // Reading resumes from the last offset, so every record is applied once.
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    channel.position(offset);
+                    int read;
+                    while (this.running && (read = channel.read(buffer)) > 0) {
+                        offset += read;
+                        buffer.flip();
+                        // Only complete lines are applied, a partially written record stays buffered until its newline.
+                        while (buffer.hasRemaining()) {
+                            byte b = buffer.get();
+                            if (b == '\n') {
+                                this.add(new String(line.toByteArray(), StandardCharsets.UTF_8));
+                                line.reset();
+                            } else if (b != '\r') {
+                                line.write(b);
+                            }
+                        }
+                        buffer.clear();
+                    }
+                }
+            }
+        } finally {
+            this.flush();
+            LOGGER.info("Stopped following {}, {} records applied.", logFile, this.appliedRecords);
+        }
+    }
+
+    public void followSocket(int port) throws IOException {
+        try (ServerSocket socket = new ServerSocket(port, 1, InetAddress.getLoopbackAddress())) {
+            this.serverSocket = socket;
+            LOGGER.info("Listening for dynamic analysis logs on {}:{}", socket.getInetAddress().getHostAddress(),
+                    socket.getLocalPort()
+                       );
+
+            while (this.running) {
+                Socket client;
+                try {
+                    client = socket.accept();
+                } catch (IOException e) {
+                    if (!this.running) {
+                        break;
+                    }
+                    throw e;
+                }
+
+                LOGGER.info("Dynamic analysis log connection from {}", client.getRemoteSocketAddress());
+                this.followConnection(client);
+            }
+        } finally {
+            this.serverSocket = null;
+            this.flush();
+            LOGGER.info("Stopped listening on port {}, {} records applied.", port, this.appliedRecords);
+        }
+    }
+
+    private void followConnection(Socket client) throws IOException {
+        try (Socket connection = client; BufferedReader reader = new BufferedReader(
+                new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+            connection.setSoTimeout(DynamicLogFollower.POLL_INTERVAL);
+            while (this.running) {
+                String line;
+                try {
+                    line = reader.readLine();
+                } catch (SocketTimeoutException e) {
+                    this.flush();
+                    continue;
+                }
+
+                if (line == null) {
+                    break;
+                }
+                this.add(line);
+            }
+        } finally {
+            this.flush();
+        }
+    }
+
+    private void add(String line) {
+        if (line.contains(LogHandler.M_TAG) || line.contains(LogHandler.C_TAG)) {
+            this.batch.add(line);
+            if (this.batch.size() >= DynamicLogFollower.BATCH_SIZE) {
+                this.flush();
+            }
+        }
+    }
+
+    private void flush() {
+        if (!this.batch.isEmpty()) {
+            int applied = this.applier.applyAsInt(this.batch);
+            this.appliedRecords += applied;
+            LOGGER.debug("Applied {} of {} dynamic analysis records.", applied, this.batch.size());
+            this.batch.clear();
+            if (applied > 0) {
+                this.batchListener.run();
+            }
+        }
+    }
+
+    private boolean sleep() {
+        try {
+            Thread.sleep(DynamicLogFollower.POLL_INTERVAL);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
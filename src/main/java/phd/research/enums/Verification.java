@@ -0,0 +1,9 @@
+package phd.research.enums;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public enum Verification {
+    OFF, FAST, FULL
+}
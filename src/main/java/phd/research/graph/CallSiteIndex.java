@@ -0,0 +1,62 @@
+package phd.research.graph;
+
+import phd.research.utility.Filter;
+import soot.Kind;
+import soot.SootMethod;
+import soot.Unit;
+import soot.jimple.Stmt;
+import soot.jimple.toolkits.callgraph.CallGraph;
+import soot.jimple.toolkits.callgraph.Edge;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class CallSiteIndex {
+
+    private final Map<Unit, List<SootMethod>> callees;
+
+    public CallSiteIndex(CallGraph callGraph) {
+        this(callGraph, Filter::isValidMethod);
+    }
+
+    CallSiteIndex(CallGraph callGraph, Predicate<SootMethod> methodFilter) {
+        this.callees = new IdentityHashMap<>();
+        Map<SootMethod, Boolean> validMethods = new HashMap<>();
+
+        for (Edge edge : callGraph) {
+            Stmt callSite = edge.srcStmt();
+            SootMethod callee = edge.tgt();
+            if (callSite == null || callee == null || !callSite.containsInvokeExpr() ||
+                    !CallSiteIndex.isInterproceduralEdge(edge)) {
+                continue;
+            }
+
+            // Callees without a body are left out, as the interprocedural CFG did when linking call sites.
+            if (callee.hasActiveBody() && validMethods.computeIfAbsent(callee, methodFilter::test)) {
+                List<SootMethod> methods = this.callees.computeIfAbsent(callSite, unit -> new ArrayList<>(1));
+                if (!methods.contains(callee)) {
+                    methods.add(callee);
+                }
+            }
+        }
+    }
+
+    private static boolean isInterproceduralEdge(Edge edge) {
+        // The same edge kinds JimpleBasedInterproceduralCFG follows without reflective calls.
+        Kind kind = edge.kind();
+        return kind.isExplicit() || kind.isFake() || kind.isClinit();
+    }
+
+    public List<SootMethod> getCallees(Unit callSite) {
+        List<SootMethod> methods = this.callees.get(callSite);
+        return methods != null ? Collections.unmodifiableList(methods) : Collections.emptyList();
+    }
+
+    public int size() {
+        return this.callees.size();
+    }
+}
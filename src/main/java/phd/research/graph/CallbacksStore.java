@@ -0,0 +1,141 @@
+package phd.research.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import phd.research.utility.Filter;
+import soot.Scene;
+import soot.SootClass;
+import soot.jimple.infoflow.android.callbacks.AndroidCallbackDefinition;
+import soot.jimple.infoflow.android.callbacks.xml.CollectedCallbacks;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class CallbacksStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CallbacksStore.class);
+
+    private static final AndroidCallbackDefinition.CallbackType[] CALLBACK_TYPES =
+            AndroidCallbackDefinition.CallbackType.values();
+
+    private final List<String> dictionary;
+    // Per class, pairs of target method id and callback type ordinal.
+    private final Map<String, int[]> classCallbacks;
+    // Pairs of activity id and fragment id.
+    private final int[] fragments;
+    private final Map<String, Map<String, AndroidCallbackDefinition.CallbackType>> resolvedClasses;
+
+    CallbacksStore(List<String> dictionary, Map<String, int[]> classCallbacks, int[] fragments) {
+        this.dictionary = dictionary;
+        this.classCallbacks = classCallbacks;
+        this.fragments = fragments;
+        this.resolvedClasses = new ConcurrentHashMap<>();
+    }
+
+    public static CallbacksStore prune(CollectedCallbacks callbacks) {
+        List<String> dictionary = new ArrayList<>();
+        Map<String, Integer> ids = new HashMap<>();
+
+        Map<String, int[]> classCallbacks = new HashMap<>();
+        for (SootClass clazz : callbacks.getCallbackMethods().keySet()) {
+            if (!Filter.isValidClass(clazz)) {
+                continue;
+            }
+
+            Set<AndroidCallbackDefinition> definitions = callbacks.getCallbackMethods().get(clazz);
+            int[] entries = new int[definitions.size() * 2];
+            int length = 0;
+            for (AndroidCallbackDefinition definition : definitions) {
+                if (definition.getTargetMethod() != null) {
+                    String methodSignature = definition.getTargetMethod().getSignature();
+                    entries[length++] = CallbacksStore.getId(dictionary, ids, methodSignature);
+                    entries[length++] = definition.getCallbackType().ordinal();
+                }
+            }
+            classCallbacks.put(dictionary.get(CallbacksStore.getId(dictionary, ids, clazz.getName())),
+                    Arrays.copyOf(entries, length)
+                              );
+        }
+
+        List<Integer> fragments = new ArrayList<>();
+        for (SootClass activity : callbacks.getFragmentClasses().keySet()) {
+            if (Filter.isValidClass(activity)) {
+                for (SootClass fragment : callbacks.getFragmentClasses().get(activity)) {
+                    if (Filter.isValidClass(fragment)) {
+                        fragments.add(CallbacksStore.getId(dictionary, ids, activity.getName()));
+                        fragments.add(CallbacksStore.getId(dictionary, ids, fragment.getName()));
+                    }
+                }
+            }
+        }
+
+        LOGGER.info("Pruned callbacks to {} of {} classes.", classCallbacks.size(),
+                callbacks.getCallbackMethods().keySet().size()
+                   );
+        return new CallbacksStore(dictionary, classCallbacks, fragments.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static int getId(List<String> dictionary, Map<String, Integer> ids, String value) {
+        return ids.computeIfAbsent(value, key -> {
+            dictionary.add(key);
+            return dictionary.size() - 1;
+        });
+    }
+
+    public AndroidCallbackDefinition.CallbackType getCallbackType(String className, String methodSignature) {
+        int[] entries = this.classCallbacks.get(className);
+        if (entries == null) {
+            return null;
+        }
+
+        // Each class is decoded the first time one of its methods is classified.
+        return this.resolvedClasses.computeIfAbsent(className, key -> this.decode(entries)).get(methodSignature);
+    }
+
+    private Map<String, AndroidCallbackDefinition.CallbackType> decode(int[] entries) {
+        Map<String, AndroidCallbackDefinition.CallbackType> callbackTypes = new HashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            String methodSignature = this.dictionary.get(entries[i]);
+            if (callbackTypes.get(methodSignature) != AndroidCallbackDefinition.CallbackType.Widget) {
+                callbackTypes.put(methodSignature, CallbacksStore.CALLBACK_TYPES[entries[i + 1]]);
+            }
+        }
+        return callbackTypes;
+    }
+
+    public Map<SootClass, Set<SootClass>> getFragments() {
+        Map<SootClass, Set<SootClass>> fragmentPairs = new HashMap<>();
+        for (int i = 0; i < this.fragments.length; i += 2) {
+            SootClass activity = Scene.v().getSootClassUnsafe(this.dictionary.get(this.fragments[i]), false);
+            SootClass fragment = Scene.v().getSootClassUnsafe(this.dictionary.get(this.fragments[i + 1]), false);
+            if (activity != null && fragment != null) {
+                fragmentPairs.computeIfAbsent(activity, key -> new HashSet<>()).add(fragment);
+            }
+        }
+        return fragmentPairs;
+    }
+
+    public List<String> getDictionary() {
+        return Collections.unmodifiableList(this.dictionary);
+    }
+
+    public Map<String, int[]> getClassCallbacks() {
+        return Collections.unmodifiableMap(this.classCallbacks);
+    }
+
+    public int getClassCount() {
+        return this.classCallbacks.size();
+    }
+
+    public int getCallbackCount() {
+        return this.classCallbacks.values().stream().mapToInt(entries -> entries.length / 2).sum();
+    }
+
+    public int getFragmentCount() {
+        return this.fragments.length / 2;
+    }
+}
@@ -0,0 +1,207 @@
+package phd.research.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import phd.research.enums.Type;
+import phd.research.singletons.GraphSettings;
+import phd.research.utility.Filter;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.jimple.infoflow.util.SystemClassHandler;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class ClassificationIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClassificationIndex.class);
+
+    private static final int PARTITION_SIZE = 512;
+
+    private final Set<SootClass> allClasses;
+    private final Set<SootClass> filteredClasses;
+    private final Set<SootMethod> allMethods;
+    private final Set<SootMethod> filteredMethods;
+    private final Map<Type, Set<SootClass>> classesByType;
+    private final Map<Type, Set<SootMethod>> methodsByType;
+    private final Set<SootMethod> listenerMethods;
+    private final Set<SootMethod> possibleListenerMethods;
+    private final Map<String, Type> methodTypes;
+    private final Map<SootClass, Set<SootClass>> fragments;
+
+    public ClassificationIndex() {
+        this(GraphSettings.v().getThreads());
+    }
+
+    public ClassificationIndex(int threads) {
+        this.allClasses = new LinkedHashSet<>(Scene.v().getClasses());
+        this.filteredClasses = new LinkedHashSet<>();
+        this.allMethods = new LinkedHashSet<>();
+        this.filteredMethods = new LinkedHashSet<>();
+        this.classesByType = new EnumMap<>(Type.class);
+        this.methodsByType = new EnumMap<>(Type.class);
+        this.listenerMethods = new LinkedHashSet<>();
+        this.possibleListenerMethods = new LinkedHashSet<>();
+        this.methodTypes = new HashMap<>();
+
+        LOGGER.info("Classifying classes and methods with {} thread(s).", threads);
+        List<SootClass> classes = new ArrayList<>(this.allClasses);
+        if (threads > 1) {
+            this.classifyInParallel(classes, threads);
+        } else {
+            this.merge(new Partition(classes, new Classifier()).classify());
+        }
+
+        this.fragments = new Classifier().getFragments();
+    }
+
+    private void classifyInParallel(List<SootClass> classes, int threads) {
+        // Anything that loads lazily is set up here, so the workers never add classes to the Scene.
+        SystemClassHandler.v();
+        Scene.v().getOrMakeFastHierarchy();
+        Filter.loadCallGraph();
+        Classifier.loadCallbacks();
+
+        List<Partition> partitions = new ArrayList<>();
+        for (int start = 0; start < classes.size(); start += ClassificationIndex.PARTITION_SIZE) {
+            List<SootClass> partition =
+                    classes.subList(start, Math.min(start + ClassificationIndex.PARTITION_SIZE, classes.size()));
+            partitions.add(new Partition(partition, new Classifier().initialise()));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<ForkJoinTask<Partition>> tasks = new ArrayList<>(partitions.size());
+            partitions.forEach(partition -> tasks.add(pool.submit(() -> partition.classify())));
+
+            // Partitions are merged in Scene order so the index matches a sequential run.
+            for (ForkJoinTask<Partition> task : tasks) {
+                this.merge(task.join());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void merge(Partition partition) {
+        this.allMethods.addAll(partition.allMethods);
+        this.filteredClasses.addAll(partition.filteredClasses);
+
+        for (int i = 0; i < partition.filteredMethods.size(); i++) {
+            SootMethod method = partition.filteredMethods.get(i);
+            Type type = partition.types.get(i);
+
+            this.filteredMethods.add(method);
+            this.methodTypes.put(method.getSignature(), type);
+            this.methodsByType.computeIfAbsent(type, key -> new LinkedHashSet<>()).add(method);
+            this.classesByType.computeIfAbsent(type, key -> new LinkedHashSet<>()).add(method.getDeclaringClass());
+
+            if (type == Type.LISTENER) {
+                if (partition.listeners.get(i)) {
+                    this.listenerMethods.add(method);
+                } else {
+                    this.possibleListenerMethods.add(method);
+                }
+            }
+        }
+    }
+
+    public Set<SootClass> getAllClasses() {
+        return Collections.unmodifiableSet(this.allClasses);
+    }
+
+    public Set<SootClass> getFilteredClasses() {
+        return Collections.unmodifiableSet(this.filteredClasses);
+    }
+
+    public Set<SootMethod> getAllMethods() {
+        return Collections.unmodifiableSet(this.allMethods);
+    }
+
+    public Set<SootMethod> getFilteredMethods() {
+        return Collections.unmodifiableSet(this.filteredMethods);
+    }
+
+    public Set<SootClass> getClasses(Type type) {
+        return Collections.unmodifiableSet(this.classesByType.getOrDefault(type, Collections.emptySet()));
+    }
+
+    public Set<SootMethod> getMethods(Type type) {
+        return Collections.unmodifiableSet(this.methodsByType.getOrDefault(type, Collections.emptySet()));
+    }
+
+    public Set<SootMethod> getListenerMethods() {
+        return Collections.unmodifiableSet(this.listenerMethods);
+    }
+
+    public Set<SootMethod> getPossibleListenerMethods() {
+        return Collections.unmodifiableSet(this.possibleListenerMethods);
+    }
+
+    public Type getMethodType(String methodSignature) {
+        return this.methodTypes.get(methodSignature);
+    }
+
+    public Map<String, Type> getMethodTypes() {
+        return Collections.unmodifiableMap(this.methodTypes);
+    }
+
+    public Map<SootClass, Set<SootClass>> getFragments() {
+        return Collections.unmodifiableMap(this.fragments);
+    }
+
+    private static class Partition {
+
+        private final List<SootClass> classes;
+        private final Classifier classifier;
+
+        private final List<SootMethod> allMethods;
+        private final List<SootClass> filteredClasses;
+        private final List<SootMethod> filteredMethods;
+        private final List<Type> types;
+        private final BitSet listeners;
+
+        private Partition(List<SootClass> classes, Classifier classifier) {
+            this.classes = classes;
+            this.classifier = classifier;
+            this.allMethods = new ArrayList<>();
+            this.filteredClasses = new ArrayList<>();
+            this.filteredMethods = new ArrayList<>();
+            this.types = new ArrayList<>();
+            this.listeners = new BitSet();
+        }
+
+        private Partition classify() {
+            for (SootClass clazz : this.classes) {
+                this.allMethods.addAll(clazz.getMethods());
+
+                if (Filter.isValidClass(clazz)) {
+                    this.filteredClasses.add(clazz);
+
+                    for (SootMethod method : clazz.getMethods()) {
+                        if (Filter.isValidMethod(method)) {
+                            this.classify(method);
+                        }
+                    }
+                }
+            }
+            return this;
+        }
+
+        private void classify(SootMethod method) {
+            Type type = this.classifier.getMethodType(method);
+
+            if (type == Type.LISTENER && this.classifier.isListenerMethod(method)) {
+                this.listeners.set(this.filteredMethods.size());
+            }
+            this.filteredMethods.add(method);
+            this.types.add(type);
+        }
+    }
+}
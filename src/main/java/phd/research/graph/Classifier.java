@@ -1,21 +1,12 @@
 package phd.research.graph;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import phd.research.enums.Type;
 import phd.research.singletons.FlowDroidAnalysis;
-import phd.research.singletons.GraphSettings;
-import phd.research.utility.Filter;
 import soot.SootClass;
 import soot.SootMethod;
 import soot.jimple.infoflow.android.callbacks.AndroidCallbackDefinition;
-import soot.jimple.infoflow.android.callbacks.xml.CollectedCallbacks;
-import soot.jimple.infoflow.android.callbacks.xml.CollectedCallbacksSerializer;
 import soot.jimple.infoflow.android.entryPointCreators.AndroidEntryPointUtils;
 
-import java.io.FileNotFoundException;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -25,9 +16,8 @@ import java.util.Set;
 
 public class Classifier {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(Classifier.class);
-
-    private static final CollectedCallbacks COLLECTED_CALLBACKS = Classifier.deserializeCallbacks();
+    // Loading the callbacks may run FlowDroid, so it waits until a method is first classified.
+    private static volatile CallbacksStore callbacks;
 
     private AndroidEntryPointUtils entryPointUtils;
 
@@ -35,17 +25,32 @@ public class Classifier {
 
     }
 
-    public static CollectedCallbacks deserializeCallbacks() {
-        if (!GraphSettings.v().getFlowDroidCallbacksFile().isFile()) {
-            FlowDroidAnalysis.v().runFlowDroid();
+    public static synchronized void loadCallbacks() {
+        if (Classifier.callbacks == null) {
+            // Pruned from FlowDroid's callbacks in memory rather than read back from the callbacks file.
+            Classifier.callbacks = CallbacksStore.prune(FlowDroidAnalysis.v().getCollectedCallbacks());
         }
+    }
+
+    public static boolean isCallbacksLoaded() {
+        return Classifier.callbacks != null;
+    }
 
-        LOGGER.info("Deserializing FlowDroid callbacks file.");
-        try {
-            return CollectedCallbacksSerializer.deserialize(GraphSettings.v().getFlowDroidCallbacksFile());
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException("FlowDroid callbacks file cannot be found: " + e.getMessage());
+    public static CallbacksStore getCallbacksStore() {
+        if (Classifier.callbacks == null) {
+            Classifier.loadCallbacks();
         }
+        return Classifier.callbacks;
+    }
+
+    private static AndroidCallbackDefinition.CallbackType getCallbackType(SootMethod method) {
+        // Definitions are stored under the parent class, so only that class needs to be decoded.
+        return Classifier.getCallbacksStore()
+                .getCallbackType(Classifier.getParentClass(method).getName(), method.getSignature());
+    }
+
+    private static boolean hasViewParameter(SootMethod method) {
+        return method.getParameterTypes().stream().anyMatch(type -> type.toString().equals("android.view.View"));
     }
 
     private static SootClass getParentClass(SootMethod method) {
@@ -53,47 +58,31 @@ public class Classifier {
         return clazz.hasOuterClass() ? clazz.getOuterClass() : clazz;
     }
 
-    public boolean isLifecycleMethod(SootMethod method) {
+    public Classifier initialise() {
+        // Creating the entry point utilities looks up (and may add) classes in the Scene.
         if (this.entryPointUtils == null) {
             this.entryPointUtils = new AndroidEntryPointUtils();
         }
+        return this;
+    }
 
-        return this.entryPointUtils.isEntryPointMethod(method);
+    public boolean isLifecycleMethod(SootMethod method) {
+        return this.initialise().entryPointUtils.isEntryPointMethod(method);
     }
 
     public boolean isListenerMethod(SootMethod method) {
-        SootClass clazz = Classifier.getParentClass(method);
-        for (AndroidCallbackDefinition definition : Classifier.COLLECTED_CALLBACKS.getCallbackMethods().get(clazz)) {
-            if (definition.getTargetMethod().equals(method) &&
-                    definition.getCallbackType() == AndroidCallbackDefinition.CallbackType.Widget) {
-                return true;
-            }
-        }
-
-        return false;
+        return Classifier.getCallbackType(method) == AndroidCallbackDefinition.CallbackType.Widget;
     }
 
     public boolean isOtherCallbackMethod(SootMethod method) {
-        if (this.isLifecycleMethod(method) || this.isListenerMethod(method)) {
-            return false;
-        }
-
-        SootClass clazz = Classifier.getParentClass(method);
-        for (AndroidCallbackDefinition definition : Classifier.COLLECTED_CALLBACKS.getCallbackMethods().get(clazz)) {
-            if (definition.getTargetMethod().equals(method)) {
-                return true;
-            }
-        }
-
-        return false;
+        AndroidCallbackDefinition.CallbackType callbackType = Classifier.getCallbackType(method);
+        return callbackType != null && callbackType != AndroidCallbackDefinition.CallbackType.Widget &&
+                !this.isLifecycleMethod(method);
     }
 
     public boolean isPossibleListenerMethod(SootMethod method) {
-        if (!this.isLifecycleMethod(method) && !this.isListenerMethod(method) && !this.isOtherCallbackMethod(method)) {
-            return method.getParameterTypes().stream().anyMatch(type -> type.toString().equals("android.view.View"));
-        }
-
-        return false;
+        return Classifier.getCallbackType(method) == null && Classifier.hasViewParameter(method) &&
+                !this.isLifecycleMethod(method);
     }
 
     public Type getMethodType(SootMethod method) {
@@ -103,26 +92,19 @@ public class Classifier {
         if (this.isLifecycleMethod(method)) {
             return Type.LIFECYCLE;
         }
-        if (this.isListenerMethod(method) || this.isPossibleListenerMethod(method)) {
+
+        // One lookup decides between listener, other callback and a method that only looks like a listener.
+        AndroidCallbackDefinition.CallbackType callbackType = Classifier.getCallbackType(method);
+        if (callbackType == AndroidCallbackDefinition.CallbackType.Widget) {
             return Type.LISTENER;
         }
-        if (this.isOtherCallbackMethod(method)) {
+        if (callbackType != null) {
             return Type.CALLBACK;
         }
-        return Type.METHOD;
+        return Classifier.hasViewParameter(method) ? Type.LISTENER : Type.METHOD;
     }
 
     public Map<SootClass, Set<SootClass>> getFragments() {
-        Map<SootClass, Set<SootClass>> fragmentsPairs = new HashMap<>();
-
-        Classifier.COLLECTED_CALLBACKS.getFragmentClasses().forEach(p -> {
-            if (Filter.isValidClass(p.getO1()) && Filter.isValidClass(p.getO2())) {
-                Set<SootClass> fragments = fragmentsPairs.getOrDefault(p.getO1(), new HashSet<>());
-                fragments.add(p.getO2());
-                fragmentsPairs.put(p.getO1(), fragments);
-            }
-        });
-
-        return fragmentsPairs;
+        return Classifier.getCallbacksStore().getFragments();
     }
 }
@@ -0,0 +1,418 @@
+package phd.research.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.GraphType;
+import org.jgrapht.graph.AbstractGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DefaultGraphType;
+import phd.research.vertices.Vertex;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class CompactGraph extends AbstractGraph<Vertex, DefaultEdge> {
+
+    private static final GraphType TYPE =
+            new DefaultGraphType.Builder().directed().allowMultipleEdges(false).allowSelfLoops(true).weighted(false)
+                    .modifiable(false).build();
+
+    private final Vertex[] vertices;
+    private final Map<Vertex, Integer> vertexIds;
+
+    // Edge i is the i-th entry of outTargets; edges are grouped by source vertex.
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final int[] inEdges;
+
+    private final Set<Vertex> vertexSet;
+    private final Set<DefaultEdge> edgeSet;
+
+    public CompactGraph(Graph<Vertex, DefaultEdge> graph) {
+        int vertexCount = graph.vertexSet().size();
+        int edgeCount = graph.edgeSet().size();
+
+        this.vertices = graph.vertexSet().toArray(new Vertex[0]);
+        this.vertexIds = new HashMap<>((int) Math.ceil(Math.max(vertexCount, 1) / 0.75));
+        for (int i = 0; i < vertexCount; i++) {
+            this.vertexIds.put(this.vertices[i], i);
+        }
+
+        int[] sources = new int[edgeCount];
+        int[] targets = new int[edgeCount];
+        int index = 0;
+        for (DefaultEdge edge : graph.edgeSet()) {
+            sources[index] = this.vertexIds.get(graph.getEdgeSource(edge));
+            targets[index] = this.vertexIds.get(graph.getEdgeTarget(edge));
+            index++;
+        }
+
+        this.outOffsets = CompactGraph.countOffsets(sources, vertexCount);
+        this.outTargets = new int[edgeCount];
+        int[] nextOut = Arrays.copyOf(this.outOffsets, vertexCount);
+        for (int i = 0; i < edgeCount; i++) {
+            this.outTargets[nextOut[sources[i]]++] = targets[i];
+        }
+
+        this.inOffsets = CompactGraph.countOffsets(targets, vertexCount);
+        this.inSources = new int[edgeCount];
+        this.inEdges = new int[edgeCount];
+        int[] nextIn = Arrays.copyOf(this.inOffsets, vertexCount);
+        for (int source = 0; source < vertexCount; source++) {
+            for (int edge = this.outOffsets[source]; edge < this.outOffsets[source + 1]; edge++) {
+                int position = nextIn[this.outTargets[edge]]++;
+                this.inSources[position] = source;
+                this.inEdges[position] = edge;
+            }
+        }
+
+        this.vertexSet = new VertexSet();
+        this.edgeSet = new EdgeRangeSet(0, edgeCount, null);
+    }
+
+    private static int[] countOffsets(int[] endpoints, int vertexCount) {
+        int[] offsets = new int[vertexCount + 1];
+        for (int endpoint : endpoints) {
+            offsets[endpoint + 1]++;
+        }
+        for (int i = 0; i < vertexCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        return offsets;
+    }
+
+    public int vertexCount() {
+        return this.vertices.length;
+    }
+
+    public int getVertexId(Vertex vertex) {
+        Integer id = this.vertexIds.get(vertex);
+        if (id == null) {
+            throw new IllegalArgumentException("No such vertex in graph: " + vertex);
+        }
+        return id;
+    }
+
+    public Vertex getVertex(int vertexId) {
+        return this.vertices[vertexId];
+    }
+
+    public void forEachSuccessor(int vertexId, IntConsumer consumer) {
+        for (int i = this.outOffsets[vertexId]; i < this.outOffsets[vertexId + 1]; i++) {
+            consumer.accept(this.outTargets[i]);
+        }
+    }
+
+    public void forEachPredecessor(int vertexId, IntConsumer consumer) {
+        for (int i = this.inOffsets[vertexId]; i < this.inOffsets[vertexId + 1]; i++) {
+            consumer.accept(this.inSources[i]);
+        }
+    }
+
+    @Override
+    public Set<DefaultEdge> getAllEdges(Vertex sourceVertex, Vertex targetVertex) {
+        Integer source = this.vertexIds.get(sourceVertex);
+        Integer target = this.vertexIds.get(targetVertex);
+        if (source == null || target == null) {
+            return null;
+        }
+
+        int edge = this.findEdge(source, target);
+        return edge == -1 ? Collections.emptySet() : Collections.singleton(new CompactEdge(this, edge));
+    }
+
+    @Override
+    public DefaultEdge getEdge(Vertex sourceVertex, Vertex targetVertex) {
+        Integer source = this.vertexIds.get(sourceVertex);
+        Integer target = this.vertexIds.get(targetVertex);
+        if (source == null || target == null) {
+            return null;
+        }
+
+        int edge = this.findEdge(source, target);
+        return edge == -1 ? null : new CompactEdge(this, edge);
+    }
+
+    @Override
+    public Supplier<Vertex> getVertexSupplier() {
+        return null;
+    }
+
+    @Override
+    public Supplier<DefaultEdge> getEdgeSupplier() {
+        return null;
+    }
+
+    @Override
+    public DefaultEdge addEdge(Vertex sourceVertex, Vertex targetVertex) {
+        throw new UnsupportedOperationException("Compact graph cannot be modified.");
+    }
+
+    @Override
+    public boolean addEdge(Vertex sourceVertex, Vertex targetVertex, DefaultEdge edge) {
+        throw new UnsupportedOperationException("Compact graph cannot be modified.");
+    }
+
+    @Override
+    public Vertex addVertex() {
+        throw new UnsupportedOperationException("Compact graph cannot be modified.");
+    }
+
+    @Override
+    public boolean addVertex(Vertex vertex) {
+        throw new UnsupportedOperationException("Compact graph cannot be modified.");
+    }
+
+    @Override
+    public boolean containsEdge(DefaultEdge edge) {
+        return this.edgeIndex(edge) != -1;
+    }
+
+    @Override
+    public boolean containsVertex(Vertex vertex) {
+        return this.vertexIds.containsKey(vertex);
+    }
+
+    @Override
+    public Set<DefaultEdge> edgeSet() {
+        return this.edgeSet;
+    }
+
+    @Override
+    public int degreeOf(Vertex vertex) {
+        return this.inDegreeOf(vertex) + this.outDegreeOf(vertex);
+    }
+
+    @Override
+    public Set<DefaultEdge> edgesOf(Vertex vertex) {
+        Set<DefaultEdge> edges = new LinkedHashSet<>(this.outgoingEdgesOf(vertex));
+        edges.addAll(this.incomingEdgesOf(vertex));
+        return Collections.unmodifiableSet(edges);
+    }
+
+    @Override
+    public int inDegreeOf(Vertex vertex) {
+        int id = this.getVertexId(vertex);
+        return this.inOffsets[id + 1] - this.inOffsets[id];
+    }
+
+    @Override
+    public Set<DefaultEdge> incomingEdgesOf(Vertex vertex) {
+        int id = this.getVertexId(vertex);
+        return new EdgeRangeSet(this.inOffsets[id], this.inOffsets[id + 1], this.inEdges);
+    }
+
+    @Override
+    public int outDegreeOf(Vertex vertex) {
+        int id = this.getVertexId(vertex);
+        return this.outOffsets[id + 1] - this.outOffsets[id];
+    }
+
+    @Override
+    public Set<DefaultEdge> outgoingEdgesOf(Vertex vertex) {
+        int id = this.getVertexId(vertex);
+        return new EdgeRangeSet(this.outOffsets[id], this.outOffsets[id + 1], null);
+    }
+
+    @Override
+    public DefaultEdge removeEdge(Vertex sourceVertex, Vertex targetVertex) {
+        throw new UnsupportedOperationException("Compact graph cannot be modified.");
+    }
+
+    @Override
+    public boolean removeEdge(DefaultEdge edge) {
+        throw new UnsupportedOperationException("Compact graph cannot be modified.");
+    }
+
+    @Override
+    public boolean removeVertex(Vertex vertex) {
+        throw new UnsupportedOperationException("Compact graph cannot be modified.");
+    }
+
+    @Override
+    public Set<Vertex> vertexSet() {
+        return this.vertexSet;
+    }
+
+    @Override
+    public Vertex getEdgeSource(DefaultEdge edge) {
+        int index = this.edgeIndex(edge);
+        if (index == -1) {
+            throw new IllegalArgumentException("No such edge in graph: " + edge);
+        }
+        return this.vertices[this.sourceOf(index)];
+    }
+
+    @Override
+    public Vertex getEdgeTarget(DefaultEdge edge) {
+        int index = this.edgeIndex(edge);
+        if (index == -1) {
+            throw new IllegalArgumentException("No such edge in graph: " + edge);
+        }
+        return this.vertices[this.outTargets[index]];
+    }
+
+    @Override
+    public GraphType getType() {
+        return CompactGraph.TYPE;
+    }
+
+    @Override
+    public double getEdgeWeight(DefaultEdge edge) {
+        return Graph.DEFAULT_EDGE_WEIGHT;
+    }
+
+    @Override
+    public void setEdgeWeight(DefaultEdge edge, double weight) {
+        throw new UnsupportedOperationException("Compact graph cannot be modified.");
+    }
+
+    private int findEdge(int source, int target) {
+        for (int i = this.outOffsets[source]; i < this.outOffsets[source + 1]; i++) {
+            if (this.outTargets[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int sourceOf(int edge) {
+        // Last vertex whose first outgoing edge is at or before the given edge.
+        int low = 0, high = this.vertices.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (this.outOffsets[middle] <= edge) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private int edgeIndex(Object edge) {
+        if (edge instanceof CompactEdge && ((CompactEdge) edge).graph == this) {
+            return ((CompactEdge) edge).index;
+        }
+        return -1;
+    }
+
+    private static class CompactEdge extends DefaultEdge {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient CompactGraph graph;
+        private final int index;
+
+        CompactEdge(CompactGraph graph, int index) {
+            this.graph = graph;
+            this.index = index;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + this.graph.vertices[this.graph.sourceOf(this.index)] + " : " +
+                    this.graph.vertices[this.graph.outTargets[this.index]] + ")";
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof CompactEdge)) {
+                return false;
+            }
+
+            CompactEdge that = (CompactEdge) o;
+            return this.graph == that.graph && this.index == that.index;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.index;
+        }
+    }
+
+    private class VertexSet extends AbstractSet<Vertex> {
+
+        @Override
+        public Iterator<Vertex> iterator() {
+            return Collections.unmodifiableList(Arrays.asList(CompactGraph.this.vertices)).iterator();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return CompactGraph.this.vertexIds.containsKey(o);
+        }
+
+        @Override
+        public int size() {
+            return CompactGraph.this.vertices.length;
+        }
+    }
+
+    private class EdgeRangeSet extends AbstractSet<DefaultEdge> {
+
+        private final int start;
+        private final int end;
+        private final int[] edges;
+
+        EdgeRangeSet(int start, int end, int[] edges) {
+            this.start = start;
+            this.end = end;
+            this.edges = edges;
+        }
+
+        private int edgeAt(int position) {
+            return this.edges == null ? position : this.edges[position];
+        }
+
+        @Override
+        public Iterator<DefaultEdge> iterator() {
+            return new Iterator<DefaultEdge>() {
+                private int position = EdgeRangeSet.this.start;
+
+                @Override
+                public boolean hasNext() {
+                    return this.position < EdgeRangeSet.this.end;
+                }
+
+                @Override
+                public DefaultEdge next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return new CompactEdge(CompactGraph.this, EdgeRangeSet.this.edgeAt(this.position++));
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            int index = CompactGraph.this.edgeIndex(o);
+            if (index == -1) {
+                return false;
+            }
+
+            for (int position = this.start; position < this.end; position++) {
+                if (this.edgeAt(position) == index) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int size() {
+            return this.end - this.start;
+        }
+    }
+}
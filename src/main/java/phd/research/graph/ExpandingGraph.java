@@ -0,0 +1,132 @@
+package phd.research.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.GraphDelegator;
+import phd.research.vertices.MethodVertex;
+import phd.research.vertices.UnitVertex;
+import phd.research.vertices.Vertex;
+
+import java.util.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class ExpandingGraph extends GraphDelegator<Vertex, DefaultEdge> {
+
+    private final UnitGraphCache unitGraphCache;
+    private final VertexIndex vertexIndex;
+    private final CallSiteLinker callSiteLinker;
+    private final Set<MethodVertex> expandedVertices;
+    private final Set<MethodVertex> emptyVertices;
+
+    public ExpandingGraph(Graph<Vertex, DefaultEdge> graph, UnitGraphCache unitGraphCache, VertexIndex vertexIndex,
+            CallSiteLinker callSiteLinker) {
+        super(graph);
+        this.unitGraphCache = unitGraphCache;
+        this.vertexIndex = vertexIndex;
+        this.callSiteLinker = callSiteLinker;
+        this.expandedVertices = new HashSet<>();
+        this.emptyVertices = new HashSet<>();
+        this.unitGraphCache.addEvictionListener(this::collapse);
+    }
+
+    private static void addUnitGraph(Graph<Vertex, DefaultEdge> target, MethodVertex vertex, UnitGraph unitGraph) {
+        Graph<Vertex, DefaultEdge> graph = unitGraph.getGraph();
+        graph.vertexSet().forEach(target::addVertex);
+        graph.edgeSet().forEach(edge -> target.addEdge(graph.getEdgeSource(edge), graph.getEdgeTarget(edge)));
+        unitGraph.getRoots().forEach(root -> target.addEdge(vertex, root));
+    }
+
+    public boolean isExpanded(MethodVertex vertex) {
+        return this.expandedVertices.contains(vertex);
+    }
+
+    public int getExpandedCount() {
+        return this.expandedVertices.size();
+    }
+
+    public void expand(Vertex vertex) {
+        // A unit vertex keeps its method resident, and brings the method back if it has been evicted.
+        if (vertex instanceof UnitVertex) {
+            vertex = this.vertexIndex.getMethodVertex(((UnitVertex) vertex).getMethodSignature());
+        }
+        if (!(vertex instanceof MethodVertex) || this.emptyVertices.contains(vertex)) {
+            return;
+        }
+
+        // Looked up even when already expanded, so the cache evicts the least recently traversed method.
+        MethodVertex methodVertex = (MethodVertex) vertex;
+        UnitGraph unitGraph = this.unitGraphCache.getUnitGraph(methodVertex);
+        if (unitGraph == null) {
+            this.emptyVertices.add(methodVertex);
+            return;
+        }
+        if (!this.expandedVertices.add(methodVertex)) {
+            return;
+        }
+
+        ExpandingGraph.addUnitGraph(this, methodVertex, unitGraph);
+        this.vertexIndex.addUnitVertices(unitGraph.getUnitVertices());
+        this.callSiteLinker.link(this, unitGraph);
+    }
+
+    private void collapse(MethodVertex vertex, UnitGraph unitGraph) {
+        if (!this.expandedVertices.remove(vertex)) {
+            return;
+        }
+
+        // Removing the unit vertices also removes their edges, and the listenable graph drops them from the index.
+        new ArrayList<>(unitGraph.getGraph().vertexSet()).forEach(super::removeVertex);
+    }
+
+    public Graph<Vertex, DefaultEdge> getExpandedGraph() {
+        // A copy with every method expanded, dropped by the caller so the resident graph stays bounded by the cache.
+        Graph<Vertex, DefaultEdge> graph = new DefaultDirectedGraph<>(DefaultEdge.class);
+        super.vertexSet().forEach(graph::addVertex);
+        super.edgeSet().forEach(edge -> graph.addEdge(super.getEdgeSource(edge), super.getEdgeTarget(edge)));
+
+        List<MethodVertex> methodVertices = new ArrayList<>();
+        graph.vertexSet().stream().filter(v -> v instanceof MethodVertex).map(v -> (MethodVertex) v)
+                .filter(v -> !this.expandedVertices.contains(v) && !this.emptyVertices.contains(v))
+                .forEach(methodVertices::add);
+        for (MethodVertex vertex : methodVertices) {
+            UnitGraph unitGraph = UnitGraphCache.buildUnitGraph(vertex);
+            if (unitGraph != null) {
+                ExpandingGraph.addUnitGraph(graph, vertex, unitGraph);
+                this.callSiteLinker.link(graph, unitGraph);
+            }
+        }
+        return graph;
+    }
+
+    @Override
+    public Set<DefaultEdge> outgoingEdgesOf(Vertex vertex) {
+        this.expand(vertex);
+        return super.outgoingEdgesOf(vertex);
+    }
+
+    @Override
+    public int outDegreeOf(Vertex vertex) {
+        this.expand(vertex);
+        return super.outDegreeOf(vertex);
+    }
+
+    @Override
+    public Set<DefaultEdge> edgesOf(Vertex vertex) {
+        this.expand(vertex);
+        return super.edgesOf(vertex);
+    }
+
+    @Override
+    public int degreeOf(Vertex vertex) {
+        this.expand(vertex);
+        return super.degreeOf(vertex);
+    }
+
+    public interface CallSiteLinker {
+        void link(Graph<Vertex, DefaultEdge> graph, UnitGraph unitGraph);
+    }
+}
@@ -0,0 +1,200 @@
+package phd.research.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.GraphType;
+import org.jgrapht.event.GraphVertexChangeEvent;
+import org.jgrapht.event.VertexSetListener;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.specifics.FastLookupDirectedSpecifics;
+import org.jgrapht.graph.specifics.Specifics;
+import org.jgrapht.util.SupplierUtil;
+import phd.research.vertices.Vertex;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class GraphBuilder {
+
+    private static final long EMPTY_KEY = -1L;
+
+    private final Map<Vertex, Integer> vertexIds;
+    private final List<Vertex> vertices;
+    private final List<VertexSetListener<Vertex>> listeners;
+
+    private int[] edges;
+    private int edgeCount;
+    private long[] edgeKeys;
+    private int edgeKeyMask;
+
+    public GraphBuilder() {
+        this(16, 16);
+    }
+
+    public GraphBuilder(int expectedVertices, int expectedEdges) {
+        this.vertexIds = new HashMap<>(GraphBuilder.mapCapacity(expectedVertices));
+        this.vertices = new ArrayList<>(expectedVertices);
+        this.listeners = new ArrayList<>();
+        this.edges = new int[Math.max(expectedEdges, 1) * 2];
+        this.edgeCount = 0;
+        this.resizeEdgeKeys(GraphBuilder.tableCapacity(expectedEdges));
+    }
+
+    private static int mapCapacity(int expectedSize) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) Math.ceil(Math.max(expectedSize, 1) / 0.75));
+    }
+
+    private static int tableCapacity(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        return capacity > 0 ? capacity : 1 << 30;
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    public void addVertexSetListener(VertexSetListener<Vertex> listener) {
+        this.listeners.add(Objects.requireNonNull(listener));
+    }
+
+    public int vertexCount() {
+        return this.vertices.size();
+    }
+
+    public int edgeCount() {
+        return this.edgeCount;
+    }
+
+    public boolean containsVertex(Vertex vertex) {
+        return this.vertexIds.containsKey(vertex);
+    }
+
+    public boolean addVertex(Vertex vertex) {
+        Objects.requireNonNull(vertex);
+        if (this.vertexIds.containsKey(vertex)) {
+            return false;
+        }
+
+        this.vertexIds.put(vertex, this.vertices.size());
+        this.vertices.add(vertex);
+
+        if (!this.listeners.isEmpty()) {
+            GraphVertexChangeEvent<Vertex> event =
+                    new GraphVertexChangeEvent<>(this, GraphVertexChangeEvent.VERTEX_ADDED, vertex);
+            this.listeners.forEach(listener -> listener.vertexAdded(event));
+        }
+        return true;
+    }
+
+    public boolean addEdge(Vertex source, Vertex target) {
+        Integer sourceId = this.vertexIds.get(source);
+        Integer targetId = this.vertexIds.get(target);
+        if (sourceId == null || targetId == null) {
+            throw new IllegalArgumentException("No such vertex in graph: " + (sourceId == null ? source : target));
+        }
+
+        if (!this.addEdgeKey(((long) sourceId << 32) | targetId)) {
+            return false;
+        }
+
+        if (this.edgeCount * 2 == this.edges.length) {
+            this.edges = Arrays.copyOf(this.edges, this.edges.length * 2);
+        }
+        this.edges[this.edgeCount * 2] = sourceId;
+        this.edges[this.edgeCount * 2 + 1] = targetId;
+        this.edgeCount++;
+        return true;
+    }
+
+    public void addGraph(Graph<Vertex, DefaultEdge> graph) {
+        graph.vertexSet().forEach(this::addVertex);
+        graph.edgeSet().forEach(edge -> this.addEdge(graph.getEdgeSource(edge), graph.getEdgeTarget(edge)));
+    }
+
+    public Graph<Vertex, DefaultEdge> build() {
+        Graph<Vertex, DefaultEdge> graph = new PresizedDirectedGraph(this.vertices.size(), this.edgeCount);
+        this.vertices.forEach(graph::addVertex);
+        for (int i = 0; i < this.edgeCount; i++) {
+            graph.addEdge(this.vertices.get(this.edges[i * 2]), this.vertices.get(this.edges[i * 2 + 1]));
+        }
+
+        return graph;
+    }
+
+    private boolean addEdgeKey(long key) {
+        // Keep the key table at most half full so probe sequences stay short.
+        if ((this.edgeCount + 1) * 2 > this.edgeKeys.length) {
+            long[] oldKeys = this.edgeKeys;
+            this.resizeEdgeKeys(oldKeys.length * 2);
+            for (long oldKey : oldKeys) {
+                if (oldKey != GraphBuilder.EMPTY_KEY) {
+                    this.insertEdgeKey(oldKey);
+                }
+            }
+        }
+
+        return this.insertEdgeKey(key);
+    }
+
+    private boolean insertEdgeKey(long key) {
+        int index = GraphBuilder.hash(key) & this.edgeKeyMask;
+        while (this.edgeKeys[index] != GraphBuilder.EMPTY_KEY) {
+            if (this.edgeKeys[index] == key) {
+                return false;
+            }
+            index = (index + 1) & this.edgeKeyMask;
+        }
+
+        this.edgeKeys[index] = key;
+        return true;
+    }
+
+    private void resizeEdgeKeys(int capacity) {
+        this.edgeKeys = new long[capacity];
+        Arrays.fill(this.edgeKeys, GraphBuilder.EMPTY_KEY);
+        this.edgeKeyMask = capacity - 1;
+    }
+
+    private static class PresizedDirectedGraph extends AbstractBaseGraph<Vertex, DefaultEdge> {
+
+        private static final long serialVersionUID = 1L;
+
+        PresizedDirectedGraph(int vertices, int edges) {
+            super(null, SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    new DefaultGraphType.Builder().directed().allowMultipleEdges(false).allowSelfLoops(true)
+                            .weighted(false).build(), new PresizedSpecificsStrategy(vertices, edges)
+                 );
+        }
+    }
+
+    private static class PresizedSpecificsStrategy implements GraphSpecificsStrategy<Vertex, DefaultEdge> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int vertices;
+        private final int edges;
+
+        PresizedSpecificsStrategy(int vertices, int edges) {
+            this.vertices = vertices;
+            this.edges = edges;
+        }
+
+        @Override
+        public Function<GraphType, IntrusiveEdgesSpecifics<Vertex, DefaultEdge>> getIntrusiveEdgesSpecificsFactory() {
+            return type -> new UniformIntrusiveEdgesSpecifics<>(new LinkedHashMap<>(mapCapacity(this.edges)));
+        }
+
+        @Override
+        public BiFunction<Graph<Vertex, DefaultEdge>, GraphType, Specifics<Vertex, DefaultEdge>> getSpecificsFactory() {
+            return (graph, type) -> new FastLookupDirectedSpecifics<>(graph,
+                    new LinkedHashMap<>(mapCapacity(this.vertices)), new HashMap<>(mapCapacity(this.edges)),
+                    this.getEdgeSetFactory()
+            );
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package phd.research.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import phd.research.utility.Filter;
+import phd.research.vertices.UnitVertex;
+import phd.research.vertices.Vertex;
+import soot.Scene;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.Unit;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class IncrementalModel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalModel.class);
+
+    private static final String FINGERPRINTS_FILE_SUFFIX = "_fingerprints.txt";
+    private static final String UNIT_ORDINALS_FILE_SUFFIX = "_unit_ordinals.txt";
+
+    private final Set<String> unchangedClasses;
+    private final Map<String, Graph<Vertex, DefaultEdge>> unitGraphs;
+    private final Map<String, String> unitOrdinals;
+
+    public IncrementalModel(Graph<Vertex, DefaultEdge> previousGraph, Map<String, String> previousFingerprints,
+            Map<String, String> previousUnitOrdinals, Map<String, String> currentFingerprints) {
+        this.unchangedClasses = new HashSet<>();
+        currentFingerprints.forEach((className, fingerprint) -> {
+            if (fingerprint.equals(previousFingerprints.get(className))) {
+                this.unchangedClasses.add(className);
+            }
+        });
+        LOGGER.info("{} of {} classes unchanged since the previous model.", this.unchangedClasses.size(),
+                currentFingerprints.size()
+                   );
+
+        this.unitGraphs = new HashMap<>();
+        for (Vertex vertex : previousGraph.vertexSet()) {
+            if (vertex instanceof UnitVertex) {
+                String methodSignature = ((UnitVertex) vertex).getMethodSignature();
+                if (this.isUnchangedMethod(methodSignature)) {
+                    this.unitGraphs.computeIfAbsent(methodSignature,
+                            k -> new DefaultDirectedGraph<>(DefaultEdge.class)
+                                                   ).addVertex(vertex);
+                }
+            }
+        }
+
+        for (DefaultEdge edge : previousGraph.edgeSet()) {
+            Vertex source = previousGraph.getEdgeSource(edge);
+            Vertex target = previousGraph.getEdgeTarget(edge);
+            if (source instanceof UnitVertex && target instanceof UnitVertex) {
+                Graph<Vertex, DefaultEdge> unitGraph = this.unitGraphs.get(((UnitVertex) source).getMethodSignature());
+                if (unitGraph != null && unitGraph.containsVertex(target)) {
+                    unitGraph.addEdge(source, target);
+                }
+            }
+        }
+
+        // Without the unit positions a unit graph cannot be matched to its body, so it is rebuilt instead.
+        this.unitOrdinals = new HashMap<>();
+        previousUnitOrdinals.forEach((methodSignature, ordinals) -> {
+            if (this.unitGraphs.containsKey(methodSignature)) {
+                this.unitOrdinals.put(methodSignature, ordinals);
+            }
+        });
+        this.unitGraphs.keySet().retainAll(this.unitOrdinals.keySet());
+    }
+
+    public static File getFingerprintsFile(File controlFlowGraphFile) {
+        String name = controlFlowGraphFile.getName();
+        int index = name.lastIndexOf('.');
+        name = index != -1 ? name.substring(0, index) : name;
+        return new File(controlFlowGraphFile.getParentFile(), name + IncrementalModel.FINGERPRINTS_FILE_SUFFIX);
+    }
+
+    public static File getUnitOrdinalsFile(File controlFlowGraphFile) {
+        String name = controlFlowGraphFile.getName();
+        int index = name.lastIndexOf('.');
+        name = index != -1 ? name.substring(0, index) : name;
+        return new File(controlFlowGraphFile.getParentFile(), name + IncrementalModel.UNIT_ORDINALS_FILE_SUFFIX);
+    }
+
+    public static String computeUnitOrdinals(List<UnitVertex> unitVertices) {
+        // Identical statements share a vertex, so each position refers to the method's unit vertices in id order.
+        List<UnitVertex> vertices = new ArrayList<>(new LinkedHashSet<>(unitVertices));
+        vertices.sort(Comparator.comparingInt(Vertex::getId));
+        Map<UnitVertex, Integer> ordinals = new HashMap<>();
+        for (int i = 0; i < vertices.size(); i++) {
+            ordinals.put(vertices.get(i), i);
+        }
+
+        StringJoiner joiner = new StringJoiner(",");
+        unitVertices.forEach(vertex -> joiner.add(String.valueOf(ordinals.get(vertex))));
+        return joiner.toString();
+    }
+
+    public static Map<String, String> computeFingerprints() {
+        Map<String, String> fingerprints = new TreeMap<>();
+        for (SootClass clazz : Scene.v().getApplicationClasses()) {
+            if (Filter.isValidClass(clazz)) {
+                fingerprints.put(clazz.getName(), IncrementalModel.computeFingerprint(clazz));
+            }
+        }
+        return fingerprints;
+    }
+
+    public static String computeFingerprint(SootClass clazz) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 is not available: " + e.getMessage());
+        }
+
+        IncrementalModel.update(digest, clazz.getName());
+        IncrementalModel.update(digest, clazz.hasSuperclass() ? clazz.getSuperclass().getName() : "");
+        clazz.getInterfaces().stream().map(SootClass::getName).sorted()
+                .forEach(name -> IncrementalModel.update(digest, name));
+
+        List<SootMethod> methods = new ArrayList<>(clazz.getMethods());
+        methods.sort(Comparator.comparing(SootMethod::getSignature));
+        for (SootMethod method : methods) {
+            IncrementalModel.update(digest, method.getSignature());
+            IncrementalModel.update(digest, String.valueOf(method.getModifiers()));
+            if (method.hasActiveBody()) {
+                for (Unit unit : method.getActiveBody().getUnits()) {
+                    IncrementalModel.update(digest, unit.toString());
+                }
+            }
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (byte b : digest.digest()) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+    }
+
+    public boolean isUnchangedMethod(String methodSignature) {
+        return this.unchangedClasses.contains(Scene.signatureToClass(methodSignature));
+    }
+
+    public Graph<Vertex, DefaultEdge> getUnitGraph(String methodSignature) {
+        return this.unitGraphs.get(methodSignature);
+    }
+
+    public Map<Unit, UnitVertex> matchUnits(String methodSignature, Collection<Unit> units) {
+        Graph<Vertex, DefaultEdge> unitGraph = this.unitGraphs.get(methodSignature);
+        if (unitGraph == null) {
+            return null;
+        }
+
+        List<Vertex> vertices = new ArrayList<>(unitGraph.vertexSet());
+        vertices.sort(Comparator.comparingInt(Vertex::getId));
+        String[] ordinals = this.unitOrdinals.get(methodSignature).split(",");
+        if (ordinals.length != units.size()) {
+            return null;
+        }
+
+        Map<Unit, UnitVertex> unitVertices = new IdentityHashMap<>();
+        int position = 0;
+        for (Unit unit : units) {
+            int ordinal;
+            try {
+                ordinal = Integer.parseInt(ordinals[position++]);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (ordinal < 0 || ordinal >= vertices.size()) {
+                return null;
+            }
+            unitVertices.put(unit, (UnitVertex) vertices.get(ordinal));
+        }
+        return unitVertices;
+    }
+}
@@ -9,7 +9,7 @@ import soot.Body;
 import soot.Unit;
 import soot.toolkits.graph.BriefUnitGraph;
 
-import java.util.Collection;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -18,10 +18,17 @@ import java.util.stream.Collectors;
 
 public class UnitGraph extends BriefUnitGraph {
 
+    private final Map<Unit, String> statements;
+
     private Graph<Vertex, DefaultEdge> graph;
+    private Map<Unit, UnitVertex> unitVertices;
 
     public UnitGraph(Body body) {
         super(body);
+        // Rendering statements here keeps the Jimple printing on the thread that builds the unit graph. Vertices are
+        // only created by getGraph, so their ids follow the order unit graphs are merged in.
+        this.statements = new IdentityHashMap<>(super.unitChain.size());
+        super.unitChain.forEach(unit -> this.statements.put(unit, unit.toString()));
     }
 
     public Graph<Vertex, DefaultEdge> getGraph() {
@@ -40,45 +47,46 @@ public class UnitGraph extends BriefUnitGraph {
         return this.graph.vertexSet().stream().filter(v -> this.graph.inDegreeOf(v) == 0).collect(Collectors.toSet());
     }
 
+    public Map<Unit, UnitVertex> getUnitVertices() {
+        if (this.graph == null) {
+            this.graph = generateGraph();
+        }
+
+        return Collections.unmodifiableMap(this.unitVertices);
+    }
+
+    public UnitVertex getUnitVertex(Unit unit) {
+        return this.getUnitVertices().get(unit);
+    }
+
     private Graph<Vertex, DefaultEdge> generateGraph() {
         Graph<Vertex, DefaultEdge> graph = new DefaultDirectedGraph<>(DefaultEdge.class);
+        this.unitVertices = new IdentityHashMap<>();
 
+        // Units with identical statements in the same method share a vertex.
+        String methodSignature = super.method.getSignature();
+        Map<String, UnitVertex> statementVertices = new HashMap<>();
         for (Unit unit : super.unitChain) {
-            UnitVertex vertex = new UnitVertex(super.method.getSignature(), unit.toString());
-            boolean found = false;
-            for (Vertex v : graph.vertexSet()) {
-                UnitVertex unitVertex = (UnitVertex) v;
-                if (unitVertex.equals(vertex)) {
-                    vertex = unitVertex;
-                    found = true;
-                    break;
-                }
-            }
-
-            if (!found) {
-                graph.addVertex(vertex);
-            }
-
+            UnitVertex vertex = this.getOrCreateVertex(graph, methodSignature, unit, statementVertices);
             for (Unit nextUnit : super.getSuccsOf(unit)) {
-                UnitVertex nextVertex = new UnitVertex(super.method.getSignature(), nextUnit.toString());
-                found = false;
-                for (Vertex v : graph.vertexSet()) {
-                    UnitVertex unitVertex = (UnitVertex) v;
-                    if (unitVertex.equals(nextVertex)) {
-                        nextVertex = unitVertex;
-                        found = true;
-                        break;
-                    }
-                }
-
-                if (!found) {
-                    graph.addVertex(nextVertex);
-                }
-
+                UnitVertex nextVertex = this.getOrCreateVertex(graph, methodSignature, nextUnit, statementVertices);
                 graph.addEdge(vertex, nextVertex);
             }
         }
 
         return graph;
     }
-}
\ No newline at end of file
+
+    private UnitVertex getOrCreateVertex(Graph<Vertex, DefaultEdge> graph, String methodSignature, Unit unit,
+            Map<String, UnitVertex> statementVertices) {
+        UnitVertex vertex = this.unitVertices.get(unit);
+        if (vertex == null) {
+            String statement = this.statements.get(unit);
+            vertex = statementVertices.computeIfAbsent(statement, s -> new UnitVertex(methodSignature, s));
+            graph.addVertex(vertex);
+            this.unitVertices.put(unit, vertex);
+        }
+
+        return vertex;
+    }
+}
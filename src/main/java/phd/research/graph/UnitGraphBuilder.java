@@ -0,0 +1,70 @@
+package phd.research.graph;
+
+import phd.research.vertices.MethodVertex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class UnitGraphBuilder {
+
+    private final int threads;
+
+    public UnitGraphBuilder(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Unit graph builder needs at least 1 thread (" + threads + ").");
+        }
+
+        this.threads = threads;
+    }
+
+    private static UnitGraph awaitUnitGraph(Future<UnitGraph> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while building unit graphs.");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to build unit graph: " + e.getCause().getMessage());
+        }
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public void build(List<MethodVertex> methodVertices, Predicate<MethodVertex> prebuild,
+            BiConsumer<MethodVertex, Supplier<UnitGraph>> merger) {
+        // Workers only build the Jimple graphs. Unit vertices are created when the merger calls getGraph on this
+        // thread in method order, so vertex ids match a sequential run.
+        ExecutorService executor = this.threads > 1 ? Executors.newFixedThreadPool(this.threads) : null;
+        List<Future<UnitGraph>> futures = new ArrayList<>(methodVertices.size());
+        if (executor != null) {
+            methodVertices.forEach(vertex -> futures.add(
+                    prebuild.test(vertex) ? executor.submit(() -> UnitGraphCache.buildUnitGraph(vertex)) : null));
+        }
+
+        try {
+            for (int i = 0; i < methodVertices.size(); i++) {
+                MethodVertex vertex = methodVertices.get(i);
+                Future<UnitGraph> future = executor != null ? futures.set(i, null) : null;
+                merger.accept(vertex, () -> future != null ? UnitGraphBuilder.awaitUnitGraph(future) :
+                        UnitGraphCache.buildUnitGraph(vertex));
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
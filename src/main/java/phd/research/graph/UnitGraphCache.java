@@ -0,0 +1,111 @@
+package phd.research.graph;
+
+import phd.research.vertices.MethodVertex;
+import soot.Body;
+import soot.Scene;
+import soot.SootMethod;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class UnitGraphCache {
+
+    private final int capacity;
+    private final Map<MethodVertex, UnitGraph> unitGraphs;
+    private final List<BiConsumer<MethodVertex, UnitGraph>> evictionListeners;
+
+    private long hits;
+    private long builds;
+    private long evictions;
+
+    public UnitGraphCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Unit graph cache capacity must be at least 1 (" + capacity + ").");
+        }
+
+        this.capacity = capacity;
+        this.evictionListeners = new ArrayList<>();
+        // Access ordered, so the least recently entered method is evicted first.
+        this.unitGraphs = new LinkedHashMap<MethodVertex, UnitGraph>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MethodVertex, UnitGraph> eldest) {
+                if (size() > UnitGraphCache.this.capacity) {
+                    UnitGraphCache.this.evictions++;
+                    UnitGraphCache.this.evictionListeners.forEach(
+                            listener -> listener.accept(eldest.getKey(), eldest.getValue()));
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    private static Body getBody(MethodVertex vertex) {
+        if (vertex.getBody() != null) {
+            return vertex.getBody();
+        }
+
+        SootMethod method = Scene.v().grabMethod(vertex.getMethodSignature());
+        return method != null && method.hasActiveBody() ? method.getActiveBody() : null;
+    }
+
+    public static UnitGraph buildUnitGraph(MethodVertex vertex) {
+        Body body = UnitGraphCache.getBody(vertex);
+        return body != null ? new UnitGraph(body) : null;
+    }
+
+    public synchronized void addEvictionListener(BiConsumer<MethodVertex, UnitGraph> listener) {
+        this.evictionListeners.add(listener);
+    }
+
+    public synchronized UnitGraph getUnitGraph(MethodVertex vertex) {
+        UnitGraph unitGraph = this.unitGraphs.get(vertex);
+        if (unitGraph != null) {
+            this.hits++;
+            return unitGraph;
+        }
+
+        unitGraph = UnitGraphCache.buildUnitGraph(vertex);
+        if (unitGraph != null) {
+            unitGraph.getGraph();
+            this.unitGraphs.put(vertex, unitGraph);
+            this.builds++;
+        }
+        return unitGraph;
+    }
+
+    public synchronized List<UnitGraph> getUnitGraphs() {
+        return new ArrayList<>(this.unitGraphs.values());
+    }
+
+    public synchronized int size() {
+        return this.unitGraphs.size();
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    public synchronized long getBuilds() {
+        return this.builds;
+    }
+
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+
+    public synchronized void clear() {
+        this.unitGraphs.clear();
+    }
+}
@@ -0,0 +1,111 @@
+package phd.research.graph;
+
+import org.jgrapht.event.GraphVertexChangeEvent;
+import org.jgrapht.event.VertexSetListener;
+import phd.research.helper.Pair;
+import phd.research.vertices.ControlVertex;
+import phd.research.vertices.MethodVertex;
+import phd.research.vertices.UnitVertex;
+import phd.research.vertices.Vertex;
+import soot.Unit;
+
+import java.util.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class VertexIndex implements VertexSetListener<Vertex> {
+
+    private final Map<String, MethodVertex> methodVertices;
+    private final Map<Pair<String, String>, ControlVertex> controlNameVertices;
+    private final Map<Pair<String, Integer>, ControlVertex> controlIdVertices;
+    private final Map<Unit, UnitVertex> unitVertices;
+    // Reverse of the unit index, so removing a unit vertex only touches its own units.
+    private final Map<UnitVertex, List<Unit>> vertexUnits;
+
+    public VertexIndex() {
+        this.methodVertices = new HashMap<>();
+        this.controlNameVertices = new HashMap<>();
+        this.controlIdVertices = new HashMap<>();
+        this.unitVertices = new IdentityHashMap<>();
+        this.vertexUnits = new IdentityHashMap<>();
+    }
+
+    public VertexIndex(Collection<Vertex> vertices) {
+        this();
+        vertices.forEach(this::add);
+    }
+
+    public void add(Vertex vertex) {
+        if (vertex instanceof MethodVertex) {
+            MethodVertex methodVertex = (MethodVertex) vertex;
+            this.methodVertices.putIfAbsent(methodVertex.getMethodSignature(), methodVertex);
+        } else if (vertex instanceof ControlVertex) {
+            ControlVertex controlVertex = (ControlVertex) vertex;
+            Control control = controlVertex.getControl();
+            Pair<String, String> nameKey = new Pair<>(control.getActivity(), control.getControlName());
+            this.controlNameVertices.putIfAbsent(nameKey, controlVertex);
+            Pair<String, Integer> idKey = new Pair<>(control.getActivity(), control.getControlId());
+            this.controlIdVertices.putIfAbsent(idKey, controlVertex);
+        }
+    }
+
+    public void remove(Vertex vertex) {
+        if (vertex instanceof MethodVertex) {
+            this.methodVertices.remove(((MethodVertex) vertex).getMethodSignature(), vertex);
+        } else if (vertex instanceof ControlVertex) {
+            Control control = ((ControlVertex) vertex).getControl();
+            this.controlNameVertices.remove(new Pair<>(control.getActivity(), control.getControlName()), vertex);
+            this.controlIdVertices.remove(new Pair<>(control.getActivity(), control.getControlId()), vertex);
+        } else if (vertex instanceof UnitVertex) {
+            List<Unit> units = this.vertexUnits.remove(vertex);
+            if (units != null) {
+                units.forEach(unit -> this.unitVertices.remove(unit, vertex));
+            }
+        }
+    }
+
+    public void addUnitVertices(Map<Unit, UnitVertex> unitVertices) {
+        unitVertices.forEach((unit, vertex) -> {
+            UnitVertex previous = this.unitVertices.put(unit, vertex);
+            if (previous == vertex) {
+                return;
+            }
+
+            if (previous != null) {
+                List<Unit> units = this.vertexUnits.get(previous);
+                if (units != null) {
+                    units.remove(unit);
+                }
+            }
+            this.vertexUnits.computeIfAbsent(vertex, key -> new ArrayList<>()).add(unit);
+        });
+    }
+
+    public MethodVertex getMethodVertex(String methodSignature) {
+        return this.methodVertices.get(methodSignature);
+    }
+
+    public UnitVertex getUnitVertex(Unit unit) {
+        return this.unitVertices.get(unit);
+    }
+
+    public ControlVertex getControlVertex(String activity, String controlName) {
+        return this.controlNameVertices.get(new Pair<>(activity, controlName));
+    }
+
+    public ControlVertex getControlVertex(String activity, int controlId) {
+        return this.controlIdVertices.get(new Pair<>(activity, controlId));
+    }
+
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<Vertex> event) {
+        this.add(event.getVertex());
+    }
+
+    @Override
+    public void vertexRemoved(GraphVertexChangeEvent<Vertex> event) {
+        this.remove(event.getVertex());
+    }
+}
@@ -0,0 +1,138 @@
+package phd.research.helper;
+
+import java.util.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class BlacklistMatcher {
+
+    private final Node prefixRoot;
+    private final Node substringRoot;
+
+    public BlacklistMatcher(Collection<String> prefixes, Collection<String> substrings) {
+        this.prefixRoot = BlacklistMatcher.buildTrie(prefixes);
+        this.substringRoot = BlacklistMatcher.buildTrie(substrings);
+        BlacklistMatcher.linkFailures(this.substringRoot);
+        BlacklistMatcher.freeze(this.prefixRoot);
+        BlacklistMatcher.freeze(this.substringRoot);
+    }
+
+    public static BlacklistMatcher forPackages(Collection<String> entries) {
+        // Entries starting with '.' match anywhere in a package name, everything else matches from the start.
+        List<String> prefixes = new ArrayList<>();
+        List<String> substrings = new ArrayList<>();
+        for (String entry : entries) {
+            (entry.startsWith(".") ? substrings : prefixes).add(entry);
+        }
+        return new BlacklistMatcher(prefixes, substrings);
+    }
+
+    public static BlacklistMatcher forSubstrings(Collection<String> entries) {
+        return new BlacklistMatcher(Collections.emptyList(), entries);
+    }
+
+    private static Node buildTrie(Collection<String> entries) {
+        Node root = new Node();
+        for (String entry : entries) {
+            Node node = root;
+            for (int i = 0; i < entry.length(); i++) {
+                node = node.children.computeIfAbsent(entry.charAt(i), key -> new Node());
+            }
+            node.terminal = true;
+        }
+        return root;
+    }
+
+    private static void linkFailures(Node root) {
+        // Aho-Corasick: each node falls back to the longest proper suffix that is also in the trie.
+        Deque<Node> queue = new ArrayDeque<>();
+        root.failure = root;
+        for (Node child : root.children.values()) {
+            child.failure = root;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+                Node child = entry.getValue();
+                Node failure = node.failure;
+                while (failure != root && !failure.children.containsKey(entry.getKey())) {
+                    failure = failure.failure;
+                }
+                Node target = failure.children.get(entry.getKey());
+                child.failure = target != null && target != child ? target : root;
+                child.terminal |= child.failure.terminal;
+                queue.add(child);
+            }
+        }
+    }
+
+    private static void freeze(Node root) {
+        Deque<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            node.freeze();
+            Collections.addAll(queue, node.nodes);
+        }
+    }
+
+    public boolean matches(String name) {
+        if (this.prefixRoot.terminal || this.substringRoot.terminal) {
+            return true;
+        }
+
+        // Both tries are walked in the same pass over the name.
+        Node prefix = this.prefixRoot;
+        Node substring = this.substringRoot;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (prefix != null) {
+                prefix = prefix.getChild(c);
+                if (prefix != null && prefix.terminal) {
+                    return true;
+                }
+            }
+
+            Node next = substring.getChild(c);
+            while (next == null && substring != this.substringRoot) {
+                substring = substring.failure;
+                next = substring.getChild(c);
+            }
+            substring = next != null ? next : this.substringRoot;
+            if (substring.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Node {
+
+        private Map<Character, Node> children = new HashMap<>();
+        private char[] keys;
+        private Node[] nodes;
+        private Node failure;
+        private boolean terminal;
+
+        private void freeze() {
+            // Sorted arrays replace the build-time map, avoiding boxing on every lookup.
+            this.keys = new char[this.children.size()];
+            this.nodes = new Node[this.children.size()];
+            int i = 0;
+            for (Character key : new TreeSet<>(this.children.keySet())) {
+                this.keys[i] = key;
+                this.nodes[i++] = this.children.get(key);
+            }
+            this.children = null;
+        }
+
+        private Node getChild(char c) {
+            int index = Arrays.binarySearch(this.keys, c);
+            return index >= 0 ? this.nodes[index] : null;
+        }
+    }
+}
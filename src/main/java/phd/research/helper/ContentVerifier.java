@@ -0,0 +1,90 @@
+package phd.research.helper;
+
+import phd.research.enums.Verification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class ContentVerifier {
+
+    private final Verification verification;
+    private final List<Callable<List<String>>> searches;
+    private final List<Runnable> repairs;
+    private final List<Callable<List<String>>> checks;
+    private final List<Callable<List<String>>> fullChecks;
+
+    public ContentVerifier(Verification verification) {
+        this.verification = verification;
+        this.searches = new ArrayList<>();
+        this.repairs = new ArrayList<>();
+        this.checks = new ArrayList<>();
+        this.fullChecks = new ArrayList<>();
+    }
+
+    private static List<String> runChecks(List<Callable<List<String>>> checks) {
+        if (checks.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        ExecutorService executor =
+                Executors.newFixedThreadPool(Math.min(checks.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            // Findings are merged in check order so the report does not depend on which check finished first.
+            List<String> findings = new ArrayList<>();
+            for (Future<List<String>> future : executor.invokeAll(checks)) {
+                findings.addAll(future.get());
+            }
+            return findings;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while verifying the control flow graph.");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to verify the control flow graph: " + e.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public Verification getVerification() {
+        return this.verification;
+    }
+
+    public ContentVerifier addSearch(Callable<List<String>> search, Runnable repair) {
+        this.searches.add(search);
+        this.repairs.add(repair);
+        return this;
+    }
+
+    public ContentVerifier addCheck(Callable<List<String>> check) {
+        this.checks.add(check);
+        return this;
+    }
+
+    public ContentVerifier addFullCheck(Callable<List<String>> check) {
+        this.fullChecks.add(check);
+        return this;
+    }
+
+    public List<String> verify() {
+        if (this.verification == Verification.OFF) {
+            return Collections.emptyList();
+        }
+
+        // Searches run in every mode, and their repairs are applied before any check reads the graph.
+        List<String> findings = ContentVerifier.runChecks(this.searches);
+        this.repairs.forEach(Runnable::run);
+
+        List<Callable<List<String>>> checks = new ArrayList<>(this.checks);
+        if (this.verification == Verification.FULL) {
+            checks.addAll(this.fullChecks);
+        }
+        findings.addAll(ContentVerifier.runChecks(checks));
+        return findings;
+    }
+}
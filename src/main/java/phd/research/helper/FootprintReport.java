@@ -0,0 +1,184 @@
+package phd.research.helper;
+
+import org.jgrapht.Graph;
+import phd.research.graph.CompactGraph;
+import phd.research.graph.Control;
+import phd.research.vertices.AndroGuardVertex;
+import phd.research.vertices.ControlVertex;
+import phd.research.vertices.MethodVertex;
+import phd.research.vertices.UnitVertex;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class FootprintReport {
+
+    // Shallow sizes for a 64-bit JVM with compressed references, the defaults for heaps under 32 GB.
+    private static final long OBJECT_HEADER = 12;
+    private static final long REFERENCE = 4;
+    private static final long STRING = 24;
+    private static final long ARRAY_HEADER = 16;
+    private static final long HASH_ENTRY = 32;
+    // A vertex in a JGraphT adjacency graph: vertex map entry, edge container and its two edge sets.
+    private static final long GRAPH_VERTEX = HASH_ENTRY + 24 + 2 * (48 + ARRAY_HEADER + 16 * REFERENCE);
+    // An edge in a JGraphT adjacency graph: the edge object, its edge map entry and both adjacency set entries.
+    private static final long GRAPH_EDGE = 24 + 24 + HASH_ENTRY + 2 * HASH_ENTRY;
+    // A compact graph keeps a vertex id map entry and two offsets per vertex, and three ints per edge.
+    private static final long COMPACT_VERTEX = HASH_ENTRY + align(OBJECT_HEADER + 4) + REFERENCE + 2 * 4;
+    private static final long COMPACT_EDGE = 3 * 4;
+
+    private static final MemoryMXBean MEMORY_BEAN = ManagementFactory.getMemoryMXBean();
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final List<String[]> samples;
+    private final Map<String, Pair<Long, Long>> structures;
+
+    public FootprintReport() {
+        this.samples = new ArrayList<>();
+        this.structures = new LinkedHashMap<>();
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    public static long estimateString(String string) {
+        return align(STRING) + align(ARRAY_HEADER + string.length());
+    }
+
+    public static long estimateStrings(Collection<String> strings) {
+        // Interned strings are shared between structures, so each instance is only counted once.
+        Set<String> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        long size = 0;
+        for (String string : strings) {
+            if (string != null && seen.add(string)) {
+                size += FootprintReport.estimateString(string);
+            }
+        }
+        return size;
+    }
+
+    public static long estimateMap(Map<String, ?> map) {
+        long table = align(ARRAY_HEADER + REFERENCE * Integer.highestOneBit(Math.max(1, map.size() * 2 - 1)));
+        return table + map.size() * (HASH_ENTRY + align(OBJECT_HEADER + 4)) +
+                FootprintReport.estimateStrings(map.keySet());
+    }
+
+    public static long estimateIntArrays(Map<String, int[]> map) {
+        // Keys are not counted, they are expected to be shared with a dictionary counted separately.
+        long size = align(ARRAY_HEADER + REFERENCE * Integer.highestOneBit(Math.max(1, map.size() * 2 - 1)));
+        for (int[] values : map.values()) {
+            size += HASH_ENTRY + align(ARRAY_HEADER + 4L * values.length);
+        }
+        return size;
+    }
+
+    public static long estimateGraph(Graph<?, ?> graph) {
+        List<String> strings = new ArrayList<>();
+        long vertices = 0;
+        for (Object vertex : graph.vertexSet()) {
+            vertices += align(OBJECT_HEADER + 4 + 3 * REFERENCE + 2);
+            if (vertex instanceof MethodVertex) {
+                strings.add(((MethodVertex) vertex).getMethodSignature());
+            } else if (vertex instanceof UnitVertex) {
+                strings.add(((UnitVertex) vertex).getMethodSignature());
+                strings.add(((UnitVertex) vertex).getUnit());
+            } else if (vertex instanceof AndroGuardVertex) {
+                vertices += REFERENCE;
+                strings.add(((AndroGuardVertex) vertex).getBytecodeSignature());
+                strings.add(((AndroGuardVertex) vertex).getJimpleSignature());
+            } else if (vertex instanceof ControlVertex) {
+                Control control = ((ControlVertex) vertex).getControl();
+                vertices += align(OBJECT_HEADER + 8 + 4 * REFERENCE);
+                strings.add(control.getControlName());
+                strings.add(control.getLayoutName());
+                strings.add(control.getActivity());
+                strings.addAll(control.getListeners());
+            }
+        }
+
+        boolean compact = graph instanceof CompactGraph;
+        return vertices + FootprintReport.estimateStrings(strings) +
+                graph.vertexSet().size() * (compact ? COMPACT_VERTEX : GRAPH_VERTEX) +
+                graph.edgeSet().size() * (compact ? COMPACT_EDGE : GRAPH_EDGE);
+    }
+
+    private static long getAllocatedBytes(boolean allThreads) {
+        if (!(FootprintReport.THREAD_BEAN instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) FootprintReport.THREAD_BEAN;
+        if (!threadBean.isThreadAllocatedMemorySupported() || !threadBean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+
+        if (!allThreads) {
+            return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        // Threads that have already finished are not included, their allocations are lost with them.
+        long allocated = 0;
+        for (long bytes : threadBean.getThreadAllocatedBytes(threadBean.getAllThreadIds())) {
+            if (bytes > 0) {
+                allocated += bytes;
+            }
+        }
+        return allocated;
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 0) {
+            return "n/a";
+        }
+        return bytes < 1024 * 1024 ? String.format("%.1f KB", bytes / 1024.0) :
+                String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    public synchronized void sample(String stage) {
+        MemoryUsage heap = FootprintReport.MEMORY_BEAN.getHeapMemoryUsage();
+        MemoryUsage nonHeap = FootprintReport.MEMORY_BEAN.getNonHeapMemoryUsage();
+        this.samples.add(new String[]{stage, FootprintReport.formatBytes(heap.getUsed()),
+                FootprintReport.formatBytes(heap.getCommitted()), FootprintReport.formatBytes(nonHeap.getUsed()),
+                FootprintReport.formatBytes(FootprintReport.getAllocatedBytes(false)),
+                FootprintReport.formatBytes(FootprintReport.getAllocatedBytes(true))});
+    }
+
+    public synchronized void addStructure(String structure, long elements, long estimatedBytes) {
+        this.structures.put(structure, new Pair<>(elements, estimatedBytes));
+    }
+
+    public synchronized int getSampleCount() {
+        return this.samples.size();
+    }
+
+    public synchronized Map<String, Pair<Long, Long>> getStructures() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(this.structures));
+    }
+
+    public synchronized String toTableString() {
+        String[][] sampleData = new String[this.samples.size() + 1][];
+        sampleData[0] = new String[]{"STAGE", "HEAP USED", "HEAP COMMITTED", "NON-HEAP USED", "THREAD ALLOCATED",
+                "TOTAL ALLOCATED"};
+        for (int i = 0; i < this.samples.size(); i++) {
+            sampleData[i + 1] = this.samples.get(i);
+        }
+
+        String[][] structureData = new String[this.structures.size() + 1][];
+        structureData[0] = new String[]{"STRUCTURE", "ELEMENTS", "ESTIMATED SIZE"};
+        int row = 1;
+        for (Map.Entry<String, Pair<Long, Long>> structure : this.structures.entrySet()) {
+            structureData[row++] = new String[]{structure.getKey(), String.valueOf(structure.getValue().getLeft()),
+                    FootprintReport.formatBytes(structure.getValue().getRight())};
+        }
+
+        return StringTable.tableWithLines(sampleData, true) + "\n" + StringTable.tableWithLines(structureData, true);
+    }
+}
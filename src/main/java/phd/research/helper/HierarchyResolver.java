@@ -0,0 +1,59 @@
+package phd.research.helper;
+
+import soot.SootClass;
+import soot.SootMethod;
+
+import java.util.function.BiPredicate;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class HierarchyResolver {
+
+    private static final SceneCache<Pair<SootClass, String>, SootMethod> METHODS = new SceneCache<>();
+
+    public static SootMethod resolveMethod(SootClass clazz, String subSignature) {
+        // Each class in the chain is cached, so sibling classes share the lookups of their common ancestors.
+        return HierarchyResolver.METHODS.get(new Pair<>(clazz, subSignature), key -> {
+            SootMethod method = key.getLeft().getMethodUnsafe(key.getRight());
+            if (method != null) {
+                return method;
+            }
+
+            SootClass superclass = key.getLeft().getSuperclassUnsafe();
+            return superclass != null ? HierarchyResolver.resolveMethod(superclass, key.getRight()) : null;
+        });
+    }
+
+    public static SootMethod resolveSuperclassMethod(SootClass clazz, String subSignature) {
+        SootClass superclass = clazz.getSuperclassUnsafe();
+        return superclass != null ? HierarchyResolver.resolveMethod(superclass, subSignature) : null;
+    }
+
+    public static <K> SootClass resolveClass(SceneCache<Pair<SootClass, K>, SootClass> cache, SootClass clazz, K key,
+            BiPredicate<SootClass, K> predicate) {
+        // First class in the chain, starting at clazz, that satisfies the predicate for the given key.
+        return cache.get(new Pair<>(clazz, key), pair -> {
+            if (predicate.test(pair.getLeft(), pair.getRight())) {
+                return pair.getLeft();
+            }
+
+            SootClass superclass = pair.getLeft().getSuperclassUnsafe();
+            return superclass != null ? HierarchyResolver.resolveClass(cache, superclass, pair.getRight(), predicate) :
+                    null;
+        });
+    }
+
+    public static long getHits() {
+        return HierarchyResolver.METHODS.getHits();
+    }
+
+    public static long getMisses() {
+        return HierarchyResolver.METHODS.getMisses();
+    }
+
+    public static void clear() {
+        HierarchyResolver.METHODS.clear();
+    }
+}
@@ -0,0 +1,161 @@
+package phd.research.helper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class PhaseMetrics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PhaseMetrics.class);
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+    private static final OperatingSystemMXBean OS_BEAN = ManagementFactory.getOperatingSystemMXBean();
+
+    private final String name;
+    private final Map<String, Long> counts;
+    private final Map<String, Pair<Long, Long>> caches;
+    private final Consumer<PhaseMetrics> endListener;
+
+    private long wallTime;
+    private long cpuTime;
+    private long callerAllocatedBytes;
+    private int runs;
+
+    private long wallStart;
+    private long cpuStart;
+    private long callerAllocatedStart;
+    private boolean running;
+
+    public PhaseMetrics(String name) {
+        this(name, phase -> {
+        });
+    }
+
+    public PhaseMetrics(String name, Consumer<PhaseMetrics> endListener) {
+        this.name = name;
+        this.counts = new LinkedHashMap<>();
+        this.caches = new LinkedHashMap<>();
+        this.endListener = Objects.requireNonNull(endListener);
+        this.running = false;
+    }
+
+    private static long readCpuTime() {
+        // Process CPU time includes the worker pools and garbage collection done on behalf of the phase.
+        if (PhaseMetrics.OS_BEAN instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) PhaseMetrics.OS_BEAN).getProcessCpuTime();
+        }
+        return PhaseMetrics.THREAD_BEAN.isCurrentThreadCpuTimeSupported() ?
+                PhaseMetrics.THREAD_BEAN.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long readCallerAllocatedBytes() {
+        // Only the calling thread is measured, worker pools are shut down before a phase ends and take their counts.
+        if (PhaseMetrics.THREAD_BEAN instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) PhaseMetrics.THREAD_BEAN;
+            if (threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled()) {
+                return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public synchronized long getWallTime() {
+        return this.wallTime;
+    }
+
+    public synchronized long getCpuTime() {
+        return this.cpuTime;
+    }
+
+    public synchronized long getCallerAllocatedBytes() {
+        return this.callerAllocatedBytes;
+    }
+
+    public synchronized int getRuns() {
+        return this.runs;
+    }
+
+    public synchronized boolean isRunning() {
+        return this.running;
+    }
+
+    public synchronized Map<String, Long> getCounts() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(this.counts));
+    }
+
+    public synchronized Map<String, Pair<Long, Long>> getCaches() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(this.caches));
+    }
+
+    public synchronized double getCacheHitRate(String cache) {
+        Pair<Long, Long> statistics = this.caches.get(cache);
+        if (statistics == null) {
+            return -1;
+        }
+
+        long lookups = statistics.getLeft() + statistics.getRight();
+        return lookups == 0 ? 0 : (double) statistics.getLeft() / lookups;
+    }
+
+    public synchronized void setCount(String count, long value) {
+        this.counts.put(count, value);
+    }
+
+    public synchronized void setCacheStatistics(String cache, long hits, long misses) {
+        this.caches.put(cache, new Pair<>(hits, misses));
+    }
+
+    public synchronized PhaseMetrics start() {
+        // A phase left running by an exception is restarted, its partial measurements are discarded.
+        if (this.running) {
+            LOGGER.warn("Phase {} was started but not ended, restarting it.", this.name);
+        }
+
+        this.running = true;
+        this.wallStart = System.nanoTime();
+        this.cpuStart = PhaseMetrics.readCpuTime();
+        this.callerAllocatedStart = PhaseMetrics.readCallerAllocatedBytes();
+        return this;
+    }
+
+    public void end() {
+        this.stop();
+        // Notified outside the lock, the listener may read other phases.
+        this.endListener.accept(this);
+    }
+
+    private synchronized void stop() {
+        if (!this.running) {
+            throw new RuntimeException("Phase " + this.name + " has not been started, cannot end phase.");
+        }
+
+        // A phase that runs more than once accumulates its measurements.
+        this.wallTime += System.nanoTime() - this.wallStart;
+        long cpuEnd = PhaseMetrics.readCpuTime();
+        if (this.cpuStart != -1 && cpuEnd != -1) {
+            this.cpuTime += cpuEnd - this.cpuStart;
+        }
+        long callerAllocatedEnd = PhaseMetrics.readCallerAllocatedBytes();
+        if (this.callerAllocatedStart != -1 && callerAllocatedEnd != -1) {
+            this.callerAllocatedBytes += callerAllocatedEnd - this.callerAllocatedStart;
+        }
+        this.runs++;
+        this.running = false;
+    }
+}
@@ -0,0 +1,74 @@
+package phd.research.helper;
+
+import soot.Scene;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class SceneCache<K, V> {
+
+    private final Map<K, Optional<V>> values;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    private volatile Scene scene;
+
+    public SceneCache() {
+        this.values = new ConcurrentHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        this.checkScene();
+
+        Optional<V> value = this.values.get(key);
+        if (value != null) {
+            this.hits.increment();
+            return value.orElse(null);
+        }
+
+        // Failed lookups are cached as well, so an unresolvable key is only looked up once.
+        this.misses.increment();
+        value = Optional.ofNullable(loader.apply(key));
+        Optional<V> existing = this.values.putIfAbsent(key, value);
+        return (existing != null ? existing : value).orElse(null);
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public int size() {
+        return this.values.size();
+    }
+
+    public synchronized void clear() {
+        this.values.clear();
+        this.scene = null;
+    }
+
+    private void checkScene() {
+        // Cached Soot objects belong to one Scene; start again if Soot has been reset since.
+        Scene current = Scene.v();
+        if (current != this.scene) {
+            synchronized (this) {
+                if (current != this.scene) {
+                    this.values.clear();
+                    this.scene = current;
+                }
+            }
+        }
+    }
+}
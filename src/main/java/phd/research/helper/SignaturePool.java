@@ -0,0 +1,30 @@
+package phd.research.helper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class SignaturePool {
+
+    private static final Map<String, String> SIGNATURES = new ConcurrentHashMap<>();
+
+    public static String intern(String signature) {
+        if (signature == null) {
+            return null;
+        }
+
+        String pooled = SIGNATURES.putIfAbsent(signature, signature);
+        return pooled != null ? pooled : signature;
+    }
+
+    public static int size() {
+        return SIGNATURES.size();
+    }
+
+    public static void clear() {
+        SIGNATURES.clear();
+    }
+}
@@ -5,13 +5,19 @@ import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import phd.research.core.DroidGraph;
+import phd.research.core.DynamicLogFollower;
 import phd.research.enums.Format;
+import phd.research.enums.Verification;
+import phd.research.graph.UnitGraphCache;
+import phd.research.helper.PhaseMetrics;
 import phd.research.helper.Timer;
 import phd.research.singletons.GraphSettings;
+import phd.research.singletons.MetricsRegistry;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @author Jordan Doyle
@@ -21,6 +27,22 @@ public class FrameworkMain {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FrameworkMain.class);
 
+    private static final int FOLLOW_EXPORT_INTERVAL = 5000;
+
+    private static void writeFollowedOutput(CommandLine cmd, DroidGraph droidGraph) {
+        LOGGER.info("Exporting control flow graph with the followed dynamic analysis records.");
+        try {
+            if (cmd.hasOption("cf")) {
+                droidGraph.writeControlFlowGraphToFile();
+            }
+            if (cmd.hasOption("s")) {
+                droidGraph.outputCFGDetails();
+            }
+        } catch (IOException e) {
+            LOGGER.error("Problem writing CFG to output file: {}", e.getMessage());
+        }
+    }
+
     public static void main(String[] args) {
 
         Timer timer = new Timer();
@@ -43,11 +65,29 @@ public class FrameworkMain {
                 .desc("The directory for storing output files.").build());
         options.addOption(Option.builder("d").longOpt("dynamic-log").hasArg().numberOfArgs(1).argName("FILE")
                 .desc("Log file from a dynamic analysis.").build());
+        options.addOption(Option.builder("r").longOpt("previous-CFG").hasArg().numberOfArgs(1).argName("FILE")
+                .desc("Reuse unchanged classes from a previously generated control flow graph.").build());
+        options.addOption(Option.builder("fl").longOpt("follow-log").hasArg().numberOfArgs(1).argName("FILE")
+                .desc("Follow a growing dynamic analysis log and apply it to the graph.").build());
+        options.addOption(Option.builder("fs").longOpt("follow-socket").hasArg().numberOfArgs(1).argName("PORT")
+                .desc("Apply dynamic analysis logs received on a local port to the graph.").build());
+        options.addOption(Option.builder("t").longOpt("threads").hasArg().numberOfArgs(1).argName("NUMBER")
+                .desc("The number of threads used to classify methods and build unit graphs.").build());
+        options.addOption(Option.builder("uc").longOpt("UG-cache").hasArg().numberOfArgs(1).argName("NUMBER")
+                .desc("The number of lazily built unit graphs kept in memory.").build());
+        options.addOption(Option.builder("vl").longOpt("verification").hasArg().numberOfArgs(1).argName("LEVEL")
+                .desc("The control flow graph verification level ('OFF', 'FAST', 'FULL').").build());
 
         options.addOption(Option.builder("ug").longOpt("output-UG").desc("Output all method Unit graphs.").build());
         options.addOption(Option.builder("cg").longOpt("output-CG").desc("Output the call graph.").build());
         options.addOption(Option.builder("cf").longOpt("output-CFG").desc("Output control flow graph.").build());
 
+        options.addOption(Option.builder("cc").longOpt("compact-CFG")
+                .desc("Store the finished control flow graph in a compact read-only form.").build());
+        options.addOption(Option.builder("lu").longOpt("lazy-UG")
+                .desc("Build method unit graphs on demand instead of adding them to the control flow graph.").build());
+        options.addOption(Option.builder("fp").longOpt("footprint")
+                .desc("Sample heap usage at each stage and write a footprint report.").build());
         options.addOption(Option.builder("m").longOpt("missing-components").desc("Output missing components.").build());
         options.addOption(Option.builder("s").longOpt("output-analysis").desc("Output soot content files.").build());
         options.addOption(Option.builder("c").longOpt("clean-directory").desc("Clean the output directory.").build());
@@ -93,10 +133,22 @@ public class FrameworkMain {
             settings.setFormat(Format.valueOf(cmd.getOptionValue("f")));
         }
 
+        if (cmd.hasOption("cc")) {
+            settings.setCompactControlFlowGraph(true);
+        }
+
+        if (cmd.hasOption("lu")) {
+            settings.setLazyUnitGraphs(true);
+        }
+
         if (cmd.hasOption("m")) {
             settings.setOutputMissingComponents(true);
         }
 
+        if (cmd.hasOption("fp")) {
+            settings.setFootprintReport(true);
+        }
+
         if (cmd.hasOption("o")) {
             try {
                 settings.setOutputDirectory(new File(cmd.getOptionValue("o")));
@@ -115,11 +167,73 @@ public class FrameworkMain {
             }
         }
 
+        if (cmd.hasOption("r")) {
+            try {
+                settings.setPreviousControlFlowGraph(new File(cmd.getOptionValue("r")));
+            } catch (IOException e) {
+                LOGGER.error("Files missing: {}", e.getMessage());
+                System.exit(90);
+            }
+        }
+
+        if (cmd.hasOption("fl")) {
+            try {
+                settings.setFollowLogFile(new File(cmd.getOptionValue("fl")));
+            } catch (IOException e) {
+                LOGGER.error("Files missing: {}", e.getMessage());
+                System.exit(100);
+            }
+        }
+
+        if (cmd.hasOption("fs")) {
+            try {
+                settings.setFollowPort(Integer.parseInt(cmd.getOptionValue("fs")));
+            } catch (IllegalArgumentException e) {
+                LOGGER.error("Invalid follow port: {}", e.getMessage());
+                System.exit(130);
+            }
+        }
+
+        if (settings.isFollowDynamicAnalysis() && settings.isCompactControlFlowGraph()) {
+            LOGGER.error("Following dynamic analysis logs requires a modifiable control flow graph.");
+            System.exit(110);
+        }
+
+        if (cmd.hasOption("t")) {
+            try {
+                settings.setThreads(Integer.parseInt(cmd.getOptionValue("t")));
+            } catch (IllegalArgumentException e) {
+                LOGGER.error("Invalid number of threads: {}", e.getMessage());
+                System.exit(70);
+            }
+        }
+
+        if (cmd.hasOption("uc")) {
+            try {
+                settings.setUnitGraphCacheSize(Integer.parseInt(cmd.getOptionValue("uc")));
+            } catch (IllegalArgumentException e) {
+                LOGGER.error("Invalid unit graph cache size: {}", e.getMessage());
+                System.exit(80);
+            }
+        }
+
+        if (cmd.hasOption("vl")) {
+            try {
+                settings.setVerification(Verification.valueOf(cmd.getOptionValue("vl")));
+            } catch (IllegalArgumentException e) {
+                LOGGER.error("Invalid verification level: {}", e.getMessage());
+                System.exit(120);
+            }
+        }
+
         try {
             settings.validate();
         } catch (IOException e) {
             LOGGER.error("Files missing: {}", e.getMessage());
             System.exit(60);
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("Invalid settings: {}", e.getMessage());
+            System.exit(140);
         }
 
         if (cmd.hasOption("c")) {
@@ -130,12 +244,59 @@ public class FrameworkMain {
             }
         }
 
+        if (settings.isFootprintReport()) {
+            MetricsRegistry.v().enableFootprint();
+            MetricsRegistry.v().getFootprint().sample("start");
+        }
+
         DroidGraph droidGraph = new DroidGraph();
 
+        if (settings.isFollowDynamicAnalysis()) {
+            AtomicBoolean updated = new AtomicBoolean(false);
+            DynamicLogFollower follower = new DynamicLogFollower(droidGraph, () -> updated.set(true));
+            Thread followerThread = new Thread(() -> {
+                try {
+                    if (settings.getFollowLogFile() != null) {
+                        follower.followFile(settings.getFollowLogFile());
+                    } else {
+                        follower.followSocket(settings.getFollowPort());
+                    }
+                } catch (IOException e) {
+                    LOGGER.error("Failed to follow dynamic analysis log: {}", e.getMessage());
+                }
+            }, "dynamic-log-follower");
+
+            Thread mainThread = Thread.currentThread();
+            // On interrupt, stop following and let the main thread finish writing its output before exiting.
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                follower.stop();
+                try {
+                    mainThread.join();
+                } catch (InterruptedException ignored) {
+                }
+            }));
+
+            // The control flow graph is exported periodically, so the output keeps up with the followed log.
+            followerThread.start();
+            while (followerThread.isAlive()) {
+                try {
+                    followerThread.join(FrameworkMain.FOLLOW_EXPORT_INTERVAL);
+                } catch (InterruptedException e) {
+                    // Keep joining so the follower applies its last batch before the final export.
+                    follower.stop();
+                }
+
+                if (updated.getAndSet(false)) {
+                    FrameworkMain.writeFollowedOutput(cmd, droidGraph);
+                }
+            }
+        }
+
         boolean outputUnitGraphs = cmd.hasOption("ug");
         boolean outputCallGraph = cmd.hasOption("cg");
         boolean outputControlFlowGraph = cmd.hasOption("cf");
 
+        PhaseMetrics metrics = MetricsRegistry.v().startPhase(MetricsRegistry.EXPORT);
         Timer cTimer = new Timer();
         if (outputUnitGraphs || outputCallGraph || outputControlFlowGraph) {
             LOGGER.info("Starting graph output... ({})", cTimer.start(true));
@@ -179,6 +340,29 @@ public class FrameworkMain {
             }
             LOGGER.info("({}) File output took {} second(s).", cTimer.end(), cTimer.secondsDuration());
         }
+        metrics.setCount("vertices", droidGraph.getControlFlowGraph().vertexSet().size());
+        metrics.setCount("edges", droidGraph.getControlFlowGraph().edgeSet().size());
+        if (settings.isLazyUnitGraphs()) {
+            UnitGraphCache unitGraphCache = droidGraph.getUnitGraphCache();
+            metrics.setCacheStatistics("unitGraphs", unitGraphCache.getHits(), unitGraphCache.getBuilds());
+            metrics.setCount("unitGraphBuilds", unitGraphCache.getBuilds());
+            metrics.setCount("unitGraphEvictions", unitGraphCache.getEvictions());
+        }
+        metrics.end();
+
+        if (settings.isFootprintReport()) {
+            try {
+                droidGraph.outputFootprintReport(MetricsRegistry.v().getFootprint());
+            } catch (IOException e) {
+                LOGGER.error("Failed to write footprint report: {}", e.getMessage());
+            }
+        }
+
+        try {
+            MetricsRegistry.v().writeReport(settings.getOutputDirectory());
+        } catch (IOException e) {
+            LOGGER.error("Failed to write run report: {}", e.getMessage());
+        }
 
         LOGGER.info("End time: {}", timer.end());
         LOGGER.info("Execution time: {} second(s).", timer.secondsDuration());
@@ -7,6 +7,8 @@ import org.slf4j.LoggerFactory;
 import org.xmlpull.v1.XmlPullParserException;
 import phd.research.helper.DroidControlFactory;
 import phd.research.helper.MenuFileParser;
+import phd.research.helper.PhaseMetrics;
+import phd.research.helper.SignaturePool;
 import phd.research.helper.Timer;
 import soot.*;
 import soot.jimple.DefinitionStmt;
@@ -14,6 +16,7 @@ import soot.jimple.infoflow.InfoflowConfiguration;
 import soot.jimple.infoflow.android.InfoflowAndroidConfiguration;
 import soot.jimple.infoflow.android.SetupApplication;
 import soot.jimple.infoflow.android.axml.AXmlNode;
+import soot.jimple.infoflow.android.callbacks.xml.CollectedCallbacks;
 import soot.jimple.infoflow.android.manifest.ProcessManifest;
 import soot.jimple.infoflow.android.resources.ARSCFileParser;
 import soot.jimple.infoflow.android.resources.LayoutFileParser;
@@ -47,7 +50,7 @@ public class FlowDroidAnalysis {
     private boolean sootInitialised;
     private boolean flowDroidExecuted;
 
-    private SetupApplication application;
+    private CallbackApplication application;
 
     private FlowDroidAnalysis() {
         this.flowDroidExecuted = false;
@@ -123,6 +126,13 @@ public class FlowDroidAnalysis {
         return entryPoints;
     }
 
+    public CollectedCallbacks getCollectedCallbacks() {
+        if (!this.isFlowDroidExecuted()) {
+            this.runFlowDroid();
+        }
+        return this.application.getCollectedCallbacks();
+    }
+
     public MenuFileParser getMenuFileParser() {
         if (!this.isSootInitialised()) {
             this.initializeSoot();
@@ -161,8 +171,11 @@ public class FlowDroidAnalysis {
     public void initializeSoot() {
         Timer timer = new Timer();
         LOGGER.info("Initializing Soot... ({})", timer.start(true));
+        PhaseMetrics metrics = MetricsRegistry.v().startPhase(MetricsRegistry.SOOT_INITIALISATION);
 
         G.reset();
+        // Pooled signatures belong to the previous Scene.
+        SignaturePool.clear();
 
         Options.v().set_no_bodies_for_excluded(true);
         Options.v().set_allow_phantom_refs(true);
@@ -196,6 +209,8 @@ public class FlowDroidAnalysis {
 
         this.sootInitialised = true;
 
+        metrics.setCount("classes", Scene.v().getClasses().size());
+        metrics.end();
         LOGGER.info("({}) Soot initialization took {} second(s).", timer.end(), timer.secondsDuration());
     }
 
@@ -206,13 +221,16 @@ public class FlowDroidAnalysis {
 
         Timer timer = new Timer();
         LOGGER.info("Running FlowDroid Analysis... ({})", timer.start(true));
+        PhaseMetrics metrics = MetricsRegistry.v().startPhase(MetricsRegistry.FLOWDROID);
 
         InfoflowAndroidConfiguration configuration = this.getFlowDroidConfiguration();
-        this.application = new SetupApplication(configuration);
+        this.application = new CallbackApplication(configuration);
         this.application.constructCallgraph();
 
         this.flowDroidExecuted = true;
 
+        metrics.setCount("callGraphEdges", Scene.v().getCallGraph().size());
+        metrics.end();
         LOGGER.info("({}) FlowDroid analysis took {} second(s).", timer.end(), timer.secondsDuration());
     }
 
@@ -260,6 +278,18 @@ public class FlowDroidAnalysis {
         PackManager.v().runPacks();
     }
 
+    private static class CallbackApplication extends SetupApplication {
+
+        private CallbackApplication(InfoflowAndroidConfiguration configuration) {
+            super(configuration);
+        }
+
+        private CollectedCallbacks getCollectedCallbacks() {
+            // The same callbacks FlowDroid serializes, read while they are still in memory.
+            return new CollectedCallbacks(this.getEntrypointClasses(), this.callbackMethods, this.fragmentClasses);
+        }
+    }
+
     public static class IFDSDataFlowTransformer extends SceneTransformer {
         @Override
         protected void internalTransform(String phaseName, Map<String, String> options) {
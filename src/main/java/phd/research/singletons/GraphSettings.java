@@ -3,6 +3,8 @@ package phd.research.singletons;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import phd.research.enums.Format;
+import phd.research.enums.Verification;
+import phd.research.graph.IncrementalModel;
 
 import java.io.File;
 import java.io.IOException;
@@ -20,6 +22,11 @@ public class GraphSettings {
     private static GraphSettings instance = null;
 
     private Format format;
+    private Verification verification;
+
+    private int threads;
+    private int unitGraphCacheSize;
+    private int followPort;
 
     private File androidPlatformDirectory;
     private File outputDirectory;
@@ -28,16 +35,27 @@ public class GraphSettings {
     private File controlFlowGraphFile;
     private File flowDroidCallbacksFile;
     private File dynamicLogFile;
+    private File previousControlFlowGraphFile;
+    private File previousFingerprintsFile;
+    private File followLogFile;
 
     private boolean importControlFlowGraph;
     private boolean defaultCallbacksFile;
     private boolean addMissingComponents;
     private boolean outputMissingComponents;
     private boolean importDynamicAnalysis;
+    private boolean incrementalAnalysis;
+    private boolean compactControlFlowGraph;
+    private boolean lazyUnitGraphs;
+    private boolean footprintReport;
     private boolean loggerActive;
 
     private GraphSettings() {
         this.format = Format.JSON;
+        this.verification = Verification.FULL;
+        this.threads = 1;
+        this.unitGraphCacheSize = 256;
+        this.followPort = -1;
         this.androidPlatformDirectory = new File(System.getenv("ANDROID_HOME") + File.separator + "platforms");
         this.outputDirectory = new File(System.getProperty("user.dir") + File.separator + "output");
         this.importControlFlowGraph = false;
@@ -46,6 +64,11 @@ public class GraphSettings {
                 new File(this.outputDirectory + File.separator + GraphSettings.FLOWDROID_CALLBACKS_FILE_NAME);
         this.addMissingComponents = false;
         this.outputMissingComponents = false;
+        this.importDynamicAnalysis = false;
+        this.incrementalAnalysis = false;
+        this.compactControlFlowGraph = false;
+        this.lazyUnitGraphs = false;
+        this.footprintReport = false;
         this.loggerActive = true;
     }
 
@@ -74,7 +97,18 @@ public class GraphSettings {
         if (this.isImportDynamicAnalysis()) {
             setImportDynamicAnalysis(this.dynamicLogFile);
         }
+        if (this.isIncrementalAnalysis()) {
+            setPreviousControlFlowGraph(this.previousControlFlowGraphFile);
+        }
+        if (this.followLogFile != null) {
+            setFollowLogFile(this.followLogFile);
+        }
         this.loggerActive = true;
+
+        // Lazy unit graphs are built on traversal, so the previous model's unit graphs would never be spliced in.
+        if (this.incrementalAnalysis && this.lazyUnitGraphs) {
+            throw new IllegalArgumentException("Incremental analysis cannot be combined with lazy unit graphs.");
+        }
     }
 
     public File getApkFile() {
@@ -139,6 +173,28 @@ public class GraphSettings {
         LOGGER.info("Format set as {}", format.name());
     }
 
+    public Verification getVerification() {
+        return this.verification;
+    }
+
+    public void setVerification(Verification verification) {
+        this.verification = verification;
+        LOGGER.info("Verification set as {}", verification.name());
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be at least 1 (" + threads + ").");
+        }
+
+        this.threads = threads;
+        LOGGER.info("Threads set as {}", threads);
+    }
+
     public File getCallGraphFile() {
         return this.callGraphFile;
     }
@@ -176,6 +232,38 @@ public class GraphSettings {
         return this.controlFlowGraphFile;
     }
 
+    public boolean isIncrementalAnalysis() {
+        return this.incrementalAnalysis;
+    }
+
+    public void setPreviousControlFlowGraph(File controlFlowGraphFile) throws IOException {
+        if (controlFlowGraphFile == null || !controlFlowGraphFile.isFile()) {
+            throw new IOException(
+                    "Previous control flow graph file does not exist or is not a file (" + controlFlowGraphFile + ").");
+        }
+
+        File fingerprintsFile = IncrementalModel.getFingerprintsFile(controlFlowGraphFile);
+        if (!fingerprintsFile.isFile()) {
+            throw new IOException(
+                    "Previous fingerprints file does not exist or is not a file (" + fingerprintsFile + ").");
+        }
+        this.incrementalAnalysis = true;
+        this.previousControlFlowGraphFile = controlFlowGraphFile;
+        this.previousFingerprintsFile = fingerprintsFile;
+
+        if (this.loggerActive) {
+            LOGGER.info("Previous control flow graph file set as '{}'.", controlFlowGraphFile.getAbsolutePath());
+        }
+    }
+
+    public File getPreviousControlFlowGraphFile() {
+        return this.previousControlFlowGraphFile;
+    }
+
+    public File getPreviousFingerprintsFile() {
+        return this.previousFingerprintsFile;
+    }
+
     public boolean isImportDynamicAnalysis() {
         return this.importDynamicAnalysis;
     }
@@ -193,6 +281,38 @@ public class GraphSettings {
         }
     }
 
+    public boolean isFollowDynamicAnalysis() {
+        return this.followLogFile != null || this.followPort != -1;
+    }
+
+    public File getFollowLogFile() {
+        return this.followLogFile;
+    }
+
+    public void setFollowLogFile(File followLogFile) throws IOException {
+        if (followLogFile == null || !followLogFile.isFile()) {
+            throw new IOException("Follow log file does not exist or is not a file (" + followLogFile + ").");
+        }
+        this.followLogFile = followLogFile;
+
+        if (this.loggerActive) {
+            LOGGER.info("Follow log file set as '{}'.", followLogFile.getAbsolutePath());
+        }
+    }
+
+    public int getFollowPort() {
+        return this.followPort;
+    }
+
+    public void setFollowPort(int followPort) {
+        if (followPort < 1 || followPort > 65535) {
+            throw new IllegalArgumentException("Follow port must be between 1 and 65535 (" + followPort + ").");
+        }
+
+        this.followPort = followPort;
+        LOGGER.info("Follow port set as {}", followPort);
+    }
+
     public File getDynamicAnalysisLogFile() {
         return this.dynamicLogFile;
     }
@@ -210,6 +330,7 @@ public class GraphSettings {
         return this.flowDroidCallbacksFile;
     }
 
+    // Only written by FlowDroid for DroidCoverage, the classifier reads the callbacks from FlowDroid in memory.
     @SuppressWarnings("unused")     // Used in DroidCoverage.
     public void setFlowDroidCallbacksFile(File callbacksFile) {
         this.flowDroidCallbacksFile = callbacksFile;
@@ -225,4 +346,45 @@ public class GraphSettings {
         this.outputMissingComponents = outputMissingComponents;
         LOGGER.info("Output missing components set as {}", outputMissingComponents);
     }
+
+    public boolean isCompactControlFlowGraph() {
+        return this.compactControlFlowGraph;
+    }
+
+    public void setCompactControlFlowGraph(boolean compactControlFlowGraph) {
+        this.compactControlFlowGraph = compactControlFlowGraph;
+        LOGGER.info("Compact control flow graph set as {}", compactControlFlowGraph);
+    }
+
+    public boolean isLazyUnitGraphs() {
+        return this.lazyUnitGraphs;
+    }
+
+    public void setLazyUnitGraphs(boolean lazyUnitGraphs) {
+        this.lazyUnitGraphs = lazyUnitGraphs;
+        LOGGER.info("Lazy unit graphs set as {}", lazyUnitGraphs);
+    }
+
+    public boolean isFootprintReport() {
+        return this.footprintReport;
+    }
+
+    public void setFootprintReport(boolean footprintReport) {
+        this.footprintReport = footprintReport;
+        LOGGER.info("Footprint report set as {}", footprintReport);
+    }
+
+    public int getUnitGraphCacheSize() {
+        return this.unitGraphCacheSize;
+    }
+
+    public void setUnitGraphCacheSize(int unitGraphCacheSize) {
+        if (unitGraphCacheSize < 1) {
+            throw new IllegalArgumentException(
+                    "Unit graph cache size must be at least 1 (" + unitGraphCacheSize + ").");
+        }
+
+        this.unitGraphCacheSize = unitGraphCacheSize;
+        LOGGER.info("Unit graph cache size set as {}", unitGraphCacheSize);
+    }
 }
@@ -0,0 +1,155 @@
+package phd.research.singletons;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import phd.research.helper.FootprintReport;
+import phd.research.helper.Pair;
+import phd.research.helper.PhaseMetrics;
+import phd.research.utility.Writer;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class MetricsRegistry {
+
+    public static final String SOOT_INITIALISATION = "soot_initialisation";
+    public static final String FLOWDROID = "flowdroid";
+    public static final String ANDROGUARD_IMPORT = "androguard_import";
+    public static final String FILTERING = "filtering";
+    public static final String CONTROL_PARSING = "control_parsing";
+    public static final String UNIT_GRAPHS = "unit_graphs";
+    public static final String DYNAMIC_ANALYSIS = "dynamic_analysis";
+    public static final String VERIFICATION = "verification";
+    public static final String EXPORT = "export";
+
+    public static final String REPORT_FILE = "run_report.json";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    private static MetricsRegistry instance = null;
+
+    private final Map<String, PhaseMetrics> phases;
+    private final Instant created;
+
+    private volatile FootprintReport footprint;
+
+    private MetricsRegistry() {
+        this.phases = new LinkedHashMap<>();
+        this.created = Instant.now();
+    }
+
+    public static synchronized MetricsRegistry v() {
+        if (instance == null) {
+            instance = new MetricsRegistry();
+        }
+        return instance;
+    }
+
+    private static String quote(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    public synchronized PhaseMetrics startPhase(String name) {
+        return this.getPhase(name).start();
+    }
+
+    public synchronized PhaseMetrics getPhase(String name) {
+        return this.phases.computeIfAbsent(name, phaseName -> new PhaseMetrics(phaseName, this::phaseEnded));
+    }
+
+    public FootprintReport getFootprint() {
+        return this.footprint;
+    }
+
+    public void enableFootprint() {
+        if (this.footprint == null) {
+            this.footprint = new FootprintReport();
+            LOGGER.info("Heap footprint sampling enabled.");
+        }
+    }
+
+    public synchronized Collection<PhaseMetrics> getPhases() {
+        return new ArrayList<>(this.phases.values());
+    }
+
+    public synchronized void reset() {
+        this.phases.clear();
+        this.footprint = null;
+    }
+
+    public synchronized String toJson() {
+        StringBuilder builder = new StringBuilder("{\n");
+        builder.append("  \"started\": ").append(MetricsRegistry.quote(this.created.toString())).append(",\n");
+        builder.append("  \"phases\": [");
+
+        String phaseSeparator = "\n";
+        for (PhaseMetrics phase : this.phases.values()) {
+            builder.append(phaseSeparator).append("    {\n");
+            builder.append("      \"name\": ").append(MetricsRegistry.quote(phase.getName())).append(",\n");
+            builder.append("      \"runs\": ").append(phase.getRuns()).append(",\n");
+            builder.append("      \"wallTimeNanos\": ").append(phase.getWallTime()).append(",\n");
+            builder.append("      \"cpuTimeNanos\": ").append(phase.getCpuTime()).append(",\n");
+            builder.append("      \"callerThreadAllocatedBytes\": ").append(phase.getCallerAllocatedBytes())
+                    .append(",\n");
+
+            builder.append("      \"counts\": {");
+            String separator = "";
+            for (Map.Entry<String, Long> count : phase.getCounts().entrySet()) {
+                builder.append(separator).append(MetricsRegistry.quote(count.getKey())).append(": ")
+                        .append(count.getValue());
+                separator = ", ";
+            }
+            builder.append("},\n");
+
+            builder.append("      \"caches\": {");
+            separator = "";
+            for (Map.Entry<String, Pair<Long, Long>> cache : phase.getCaches().entrySet()) {
+                builder.append(separator).append(MetricsRegistry.quote(cache.getKey())).append(": {\"hits\": ")
+                        .append(cache.getValue().getLeft()).append(", \"misses\": ")
+                        .append(cache.getValue().getRight()).append(", \"hitRate\": ")
+                        .append(String.format(Locale.ROOT, "%.4f", phase.getCacheHitRate(cache.getKey()))).append("}");
+                separator = ", ";
+            }
+            builder.append("}\n");
+
+            builder.append("    }");
+            phaseSeparator = ",\n";
+        }
+
+        builder.append(this.phases.isEmpty() ? "]\n" : "\n  ]\n").append("}\n");
+        return builder.toString();
+    }
+
+    private void phaseEnded(PhaseMetrics phase) {
+        // Stage boundaries are phase ends, so the footprint follows the same phases as the run report.
+        FootprintReport footprint = this.footprint;
+        if (footprint != null) {
+            footprint.sample(phase.getName());
+        }
+    }
+
+    public void writeReport(File directory) throws IOException {
+        LOGGER.info("Writing run report to {}", new File(directory, MetricsRegistry.REPORT_FILE));
+        Writer.writeString(directory, MetricsRegistry.REPORT_FILE, this.toJson());
+    }
+}
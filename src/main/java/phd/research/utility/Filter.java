@@ -4,6 +4,7 @@ import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultEdge;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import phd.research.helper.BlacklistMatcher;
 import phd.research.singletons.GraphSettings;
 import phd.research.vertices.AndroGuardVertex;
 import soot.Scene;
@@ -15,9 +16,12 @@ import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -28,13 +32,30 @@ public class Filter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Filter.class);
 
-    private static final List<String> PACKAGE_BLACKLIST = Filter.loadBlacklist("package_blacklist");
-    private static final List<String> CLASS_BLACKLIST = Filter.loadBlacklist("class_blacklist");
-    private static final List<String> LAYOUT_BLACKLIST = Filter.loadBlacklist("layout_blacklist");
+    // Blacklists are compiled once, so each check is a single pass over the name however long the lists grow.
+    private static final BlacklistMatcher PACKAGE_BLACKLIST =
+            BlacklistMatcher.forPackages(Filter.loadBlacklist("package_blacklist"));
+    private static final BlacklistMatcher CLASS_BLACKLIST =
+            BlacklistMatcher.forSubstrings(Filter.loadBlacklist("class_blacklist"));
+    private static final Set<String> LAYOUT_BLACKLIST = new HashSet<>(Filter.loadBlacklist("layout_blacklist"));
+
+    // The AndroGuard graph is only needed to filter methods, so it is not imported until then.
+    private static volatile Graph<AndroGuardVertex, DefaultEdge> androGuardGraph;
+    private static volatile Map<String, Boolean> methodExternalStatus;
+
+    public static synchronized void loadCallGraph() {
+        if (Filter.methodExternalStatus == null) {
+            Graph<AndroGuardVertex, DefaultEdge> graph =
+                    Importer.importAndroGuardGraph(GraphSettings.v().getCallGraphFile());
+            Map<String, Boolean> statusMap = Filter.getExternalStatusMap(graph);
+            Filter.androGuardGraph = graph;
+            Filter.methodExternalStatus = statusMap;
+        }
+    }
 
-    private static final Graph<AndroGuardVertex, DefaultEdge> ANDRO_GUARD_GRAPH =
-            Importer.importAndroGuardGraph(GraphSettings.v().getCallGraphFile());
-    private static final Map<String, Boolean> METHOD_EXTERNAL_STATUS = Filter.getExternalStatusMap();
+    public static boolean isCallGraphLoaded() {
+        return Filter.methodExternalStatus != null;
+    }
 
     public static boolean isValidMethod(SootMethod method) {
         if (Filter.isValidClass(method.getDeclaringClass())) {
@@ -43,8 +64,9 @@ public class Filter {
             }
 
             String methodSignature = method.getSignature().replace("'", "");
-            if (Filter.METHOD_EXTERNAL_STATUS.containsKey(methodSignature)) {
-                return !Filter.METHOD_EXTERNAL_STATUS.get(methodSignature);
+            Boolean external = Filter.getExternalStatus().get(methodSignature);
+            if (external != null) {
+                return !external;
             }
         }
         return false;
@@ -61,8 +83,7 @@ public class Filter {
             return false;
         }
 
-        return Filter.CLASS_BLACKLIST.stream()
-                .noneMatch(blacklistedClass -> clazz.getShortName().contains(blacklistedClass));
+        return !Filter.CLASS_BLACKLIST.matches(clazz.getShortName());
     }
 
     public static boolean isValidLayout(String layout) {
@@ -70,13 +91,23 @@ public class Filter {
     }
 
     public static Graph<AndroGuardVertex, DefaultEdge> getAndroGuardCallGraph() {
-        return Filter.ANDRO_GUARD_GRAPH;
+        Filter.getExternalStatus();
+        return Filter.androGuardGraph;
+    }
+
+    public static Map<String, Boolean> getMethodExternalStatus() {
+        return Collections.unmodifiableMap(Filter.getExternalStatus());
+    }
+
+    private static Map<String, Boolean> getExternalStatus() {
+        if (Filter.methodExternalStatus == null) {
+            Filter.loadCallGraph();
+        }
+        return Filter.methodExternalStatus;
     }
 
     private static boolean isValidPackage(String packageName) {
-        return Filter.PACKAGE_BLACKLIST.stream().noneMatch(
-                blacklistedPackage -> blacklistedPackage.startsWith(".") ? packageName.contains(blacklistedPackage) :
-                        packageName.startsWith(blacklistedPackage));
+        return !Filter.PACKAGE_BLACKLIST.matches(packageName);
     }
 
     private static List<String> loadBlacklist(String fileName) {
@@ -87,10 +118,10 @@ public class Filter {
                 new ArrayList<>();
     }
 
-    private static Map<String, Boolean> getExternalStatusMap() {
+    private static Map<String, Boolean> getExternalStatusMap(Graph<AndroGuardVertex, DefaultEdge> graph) {
         LOGGER.info("Loading AndroGuard external status map.");
         Map<String, Boolean> statusMap = new HashMap<>();
-        Filter.ANDRO_GUARD_GRAPH.vertexSet()
+        graph.vertexSet()
                 .forEach(vertex -> statusMap.put(vertex.getJimpleSignature(), vertex.isExternal()));
         return statusMap;
     }
@@ -10,7 +10,9 @@ import org.jgrapht.nio.json.JSONImporter;
 import org.jgrapht.util.SupplierUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import phd.research.helper.PhaseMetrics;
 import phd.research.singletons.FlowDroidAnalysis;
+import phd.research.singletons.MetricsRegistry;
 import phd.research.vertices.AndroGuardVertex;
 import phd.research.vertices.Vertex;
 import phd.research.vertices.VertexFactory;
@@ -18,7 +20,10 @@ import soot.Scene;
 import soot.SootClass;
 import soot.SootMethod;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -33,6 +38,7 @@ public class Importer {
 
     public static Graph<AndroGuardVertex, DefaultEdge> importAndroGuardGraph(File graphFile) {
         LOGGER.info("Importing AndroGuard call graph from {}", graphFile);
+        PhaseMetrics metrics = MetricsRegistry.v().startPhase(MetricsRegistry.ANDROGUARD_IMPORT);
 
         Graph<Integer, DefaultEdge> tempGraph =
                 new DefaultDirectedGraph<>(SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
@@ -67,6 +73,9 @@ public class Importer {
             graph.addEdge(sourceVertex, targetVertex);
         });
 
+        metrics.setCount("vertices", graph.vertexSet().size());
+        metrics.setCount("edges", graph.edgeSet().size());
+        metrics.end();
         LOGGER.info("AndroGuard call graph contains {} vertices and {} edges.", graph.vertexSet().size(),
                 graph.edgeSet().size()
                    );
@@ -75,7 +84,13 @@ public class Importer {
 
     public static Graph<Vertex, DefaultEdge> convertAndFilterAndroGuardGraph(
             Graph<AndroGuardVertex, DefaultEdge> androGuardGraph) {
+        return Importer.convertAndFilterAndroGuardGraph(androGuardGraph, new VertexFactory());
+    }
+
+    public static Graph<Vertex, DefaultEdge> convertAndFilterAndroGuardGraph(
+            Graph<AndroGuardVertex, DefaultEdge> androGuardGraph, VertexFactory factory) {
         LOGGER.info("Converting and filtering AndroGuard call graph...");
+        PhaseMetrics metrics = MetricsRegistry.v().startPhase(MetricsRegistry.FILTERING);
 
         Graph<Vertex, DefaultEdge> graph = new DefaultDirectedGraph<>(DefaultEdge.class);
 
@@ -84,7 +99,7 @@ public class Importer {
             Vertex source = null;
             AndroGuardVertex sourceAndroGuardVertex = androGuardGraph.getEdgeSource(edge);
             if (!sourceAndroGuardVertex.isExternal()) {
-                source = Importer.convertVertex(sourceAndroGuardVertex);
+                source = Importer.convertVertex(sourceAndroGuardVertex, factory);
                 if (source != null) {
                     graph.addVertex(source);
                 }
@@ -93,7 +108,7 @@ public class Importer {
             Vertex target = null;
             AndroGuardVertex targetAndroGuardVertex = androGuardGraph.getEdgeTarget(edge);
             if (!targetAndroGuardVertex.isExternal()) {
-                target = Importer.convertVertex(targetAndroGuardVertex);
+                target = Importer.convertVertex(targetAndroGuardVertex, factory);
                 if (target != null) {
                     graph.addVertex(target);
                 }
@@ -106,6 +121,10 @@ public class Importer {
             }
         });
 
+        metrics.setCount("vertices", graph.vertexSet().size());
+        metrics.setCount("edges", graph.edgeSet().size());
+        metrics.setCacheStatistics("methodTypes", VertexFactory.getTypeCacheHits(), VertexFactory.getTypeCacheMisses());
+        metrics.end();
         LOGGER.info("Converted and filtered call graph contains {} vertices and {} edges.", graph.vertexSet().size(),
                 graph.edgeSet().size()
                    );
@@ -149,6 +168,37 @@ public class Importer {
         return graph;
     }
 
+    public static Map<String, String> importFingerprints(File fingerprintsFile) throws RuntimeException {
+        LOGGER.info("Importing class fingerprints from {}", fingerprintsFile);
+        Map<String, String> fingerprints = Importer.importMap(fingerprintsFile);
+        LOGGER.info("Imported {} class fingerprints.", fingerprints.size());
+        return fingerprints;
+    }
+
+    public static Map<String, String> importUnitOrdinals(File unitOrdinalsFile) throws RuntimeException {
+        LOGGER.info("Importing unit ordinals from {}", unitOrdinalsFile);
+        Map<String, String> unitOrdinals = Importer.importMap(unitOrdinalsFile);
+        LOGGER.info("Imported unit ordinals for {} methods.", unitOrdinals.size());
+        return unitOrdinals;
+    }
+
+    private static Map<String, String> importMap(File mapFile) throws RuntimeException {
+        Map<String, String> map = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(mapFile))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Skip the item count header written by Writer.writeMap().
+                int index = line.lastIndexOf(": ");
+                if (index != -1) {
+                    map.put(line.substring(0, index), line.substring(index + 2));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read file " + mapFile + ": " + e.getMessage());
+        }
+        return map;
+    }
+
     private static BiConsumer<Pair<Integer, String>, Attribute> createAttributeConsumer(
             Map<Integer, Map<String, Attribute>> attr) {
         return (p, a) -> {
@@ -157,7 +207,7 @@ public class Importer {
         };
     }
 
-    private static Vertex convertVertex(AndroGuardVertex androGuardVertex) {
+    private static Vertex convertVertex(AndroGuardVertex androGuardVertex, VertexFactory factory) {
         if (androGuardVertex.getJimpleSignature() == null) {
             LOGGER.warn("Bytecode not converted to Jimple signature: {}", androGuardVertex.getBytecodeSignature());
             return null;
@@ -167,7 +217,6 @@ public class Importer {
             FlowDroidAnalysis.v().initializeSoot();
         }
 
-        VertexFactory factory = new VertexFactory();
         SootClass clazz = Scene.v().getSootClass(Scene.signatureToClass(androGuardVertex.getJimpleSignature()));
         if (Filter.isValidClass(clazz)) {
             SootMethod method = Scene.v().grabMethod(androGuardVertex.getJimpleSignature());
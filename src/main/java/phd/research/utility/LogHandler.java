@@ -2,12 +2,15 @@ package phd.research.utility;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import phd.research.helper.Pair;
+import phd.research.helper.SceneCache;
 import phd.research.helper.Tuple;
 import phd.research.singletons.FlowDroidAnalysis;
 import soot.Scene;
 import soot.SootClass;
 import soot.SootMethod;
 
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -24,57 +27,89 @@ public class LogHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LogHandler.class);
 
+    private static final Pattern CONTROL_PATTERN = Pattern.compile("Method:\\s<(.+):\\s(.+)>\\sView:\\s(-?\\d+)");
+    private static final Pattern METHOD_PATTERN = Pattern.compile("Method:\\s<(.+):\\s(.+)>");
+
+    // Matchers are reset for each line rather than created, one per parsing thread.
+    private static final ThreadLocal<Matcher> CONTROL_MATCHER =
+            ThreadLocal.withInitial(() -> LogHandler.CONTROL_PATTERN.matcher(""));
+    private static final ThreadLocal<Matcher> METHOD_MATCHER =
+            ThreadLocal.withInitial(() -> LogHandler.METHOD_PATTERN.matcher(""));
+
+    private static final SceneCache<Pair<String, String>, Tuple<Integer, SootClass, SootMethod>> RESOLVED_METHODS =
+            new SceneCache<>();
+    private static final AtomicBoolean QUOTE_WARNED = new AtomicBoolean(false);
+
     public static Tuple<Integer, SootClass, SootMethod> regexLogMessage(String logMessage) {
-        Matcher matcher;
-        Pattern pattern;
-
-        if (logMessage.contains(C_TAG)) {
-            pattern = Pattern.compile("Method:\\s<(.+):\\s(.+)>\\sView:\\s(-?\\d+)");
-        } else if (logMessage.contains(M_TAG)) {
-            pattern = Pattern.compile("Method:\\s<(.+):\\s(.+)>");
-        } else {
-            LOGGER.error("No recognisable tag in log message: {}", logMessage);
-            return null;
+        if (!FlowDroidAnalysis.v().isSootInitialised()) {
+            FlowDroidAnalysis.v().initializeSoot();
         }
 
-        if (logMessage.contains("'")) {
-            logMessage = logMessage.replaceAll("'", "");
-            LOGGER.warn("Removed single quotation from log message.");
+        return LogHandler.parseLogMessage(logMessage);
+    }
+
+    static Tuple<Integer, SootClass, SootMethod> parseLogMessage(String logMessage) {
+        boolean control = logMessage.contains(C_TAG);
+        if (!control && !logMessage.contains(M_TAG)) {
+            LOGGER.error("No recognisable tag in log message: {}", logMessage);
+            return null;
         }
 
-        if (!FlowDroidAnalysis.v().isSootInitialised()) {
-            FlowDroidAnalysis.v().initializeSoot();
+        if (logMessage.indexOf('\'') != -1) {
+            logMessage = logMessage.replace("'", "");
+            // Quoted signatures are common in some apps, so only the first one is worth a warning.
+            if (LogHandler.QUOTE_WARNED.compareAndSet(false, true)) {
+                LOGGER.warn("Removed single quotation from log message, further removals are logged at debug level.");
+            } else {
+                LOGGER.debug("Removed single quotation from log message.");
+            }
         }
 
-        matcher = pattern.matcher(logMessage);
+        Matcher matcher = (control ? LogHandler.CONTROL_MATCHER : LogHandler.METHOD_MATCHER).get().reset(logMessage);
         if (matcher.find()) {
-            SootClass sootClass = Scene.v().getSootClassUnsafe(matcher.group(1));
-            if (sootClass != null) {
-                SootMethod method = sootClass.getMethodUnsafe(matcher.group(2));
-                if (sootClass.hasOuterClass()) {
-                    sootClass = sootClass.getOuterClass();
-                    if (method == null) {
-                        method = sootClass.getMethodUnsafe(matcher.group(2));
-                    }
-                }
-
-                if (method != null) {
-                    if (logMessage.contains(C_TAG)) {
-                        Integer id = Integer.parseInt(matcher.group(3));
-                        return new Tuple<>(id, sootClass, method);
-                    } else if (logMessage.contains(M_TAG)) {
-                        return new Tuple<>(-1, sootClass, method);
-                    }
-                } else {
-                    LOGGER.error(
-                            String.format("Failed to retrieve class %s found in Logcat message.", matcher.group(1)));
-                }
-            } else {
-                LOGGER.error(String.format("Failed to retrieve method %s found in Logcat message.", matcher.group(2)));
+            Tuple<Integer, SootClass, SootMethod> method =
+                    LogHandler.RESOLVED_METHODS.get(new Pair<>(matcher.group(1), matcher.group(2)),
+                            LogHandler::resolveMethod
+                                                   );
+            if (method != null) {
+                return control ? new Tuple<>(Integer.parseInt(matcher.group(3)), method.getMiddle(),
+                        method.getRight()
+                ) : method;
             }
         }
 
         LOGGER.error("Failure while reading Logcat message: {}", logMessage);
         return null;
     }
+
+    public static long getResolutionHits() {
+        return LogHandler.RESOLVED_METHODS.getHits();
+    }
+
+    public static long getResolutionMisses() {
+        return LogHandler.RESOLVED_METHODS.getMisses();
+    }
+
+    private static Tuple<Integer, SootClass, SootMethod> resolveMethod(Pair<String, String> signature) {
+        // Lookup only, so log parsing workers never add phantom classes to the Scene.
+        SootClass sootClass = Scene.v().getSootClassUnsafe(signature.getLeft(), false);
+        if (sootClass == null) {
+            LOGGER.error(String.format("Failed to retrieve class %s found in Logcat message.", signature.getLeft()));
+            return null;
+        }
+
+        SootMethod method = sootClass.getMethodUnsafe(signature.getRight());
+        if (sootClass.hasOuterClass()) {
+            sootClass = sootClass.getOuterClass();
+            if (method == null) {
+                method = sootClass.getMethodUnsafe(signature.getRight());
+            }
+        }
+
+        if (method == null) {
+            LOGGER.error(String.format("Failed to retrieve method %s found in Logcat message.", signature.getRight()));
+            return null;
+        }
+        return new Tuple<>(-1, sootClass, method);
+    }
 }
@@ -0,0 +1,172 @@
+package phd.research.utility;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import phd.research.helper.Pair;
+import phd.research.helper.Tuple;
+import phd.research.singletons.FlowDroidAnalysis;
+import soot.SootClass;
+import soot.SootMethod;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class LogParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogParser.class);
+
+    private static final int CHUNK_SIZE = 4096;
+
+    private final int threads;
+    private final Function<String, Tuple<Integer, SootClass, SootMethod>> lineParser;
+    private final Consumer<List<Tuple<Integer, SootClass, SootMethod>>> writer;
+    private final Set<SootMethod> seenMethods;
+    private final Map<Pair<String, Integer>, SootMethod> controlListeners;
+
+    private long records;
+    private long duplicates;
+
+    public LogParser(int threads, Consumer<List<Tuple<Integer, SootClass, SootMethod>>> writer) {
+        this(threads, LogHandler::regexLogMessage, writer);
+    }
+
+    LogParser(int threads, Function<String, Tuple<Integer, SootClass, SootMethod>> lineParser,
+            Consumer<List<Tuple<Integer, SootClass, SootMethod>>> writer) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be at least 1 (" + threads + ").");
+        }
+
+        this.threads = threads;
+        this.lineParser = Objects.requireNonNull(lineParser);
+        this.writer = Objects.requireNonNull(writer);
+        this.seenMethods = new HashSet<>();
+        this.controlListeners = new HashMap<>();
+    }
+
+    private List<Tuple<Integer, SootClass, SootMethod>> parseChunk(List<String> lines) {
+        List<Tuple<Integer, SootClass, SootMethod>> records = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            LOGGER.debug("Dynamic analysis log: {}", line);
+            Tuple<Integer, SootClass, SootMethod> logData = this.lineParser.apply(line);
+            if (logData != null) {
+                records.add(logData);
+            }
+        }
+        return records;
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while parsing dynamic analysis log.");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to parse dynamic analysis log: " + e.getCause().getMessage());
+        }
+    }
+
+    public long getRecords() {
+        return this.records;
+    }
+
+    public long getDuplicates() {
+        return this.duplicates;
+    }
+
+    public void parse(File logFile) throws IOException {
+        // Soot must be set up before the workers start resolving classes.
+        if (!FlowDroidAnalysis.v().isSootInitialised()) {
+            FlowDroidAnalysis.v().initializeSoot();
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(logFile))) {
+            this.parse(reader);
+        }
+    }
+
+    void parse(BufferedReader reader) throws IOException {
+        ExecutorService executor = this.threads > 1 ? Executors.newFixedThreadPool(this.threads) : null;
+        Deque<Future<List<Tuple<Integer, SootClass, SootMethod>>>> pending = new ArrayDeque<>();
+        try {
+            List<String> chunk = new ArrayList<>(LogParser.CHUNK_SIZE);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.contains(LogHandler.M_TAG) || line.contains(LogHandler.C_TAG)) {
+                    chunk.add(line);
+                    if (chunk.size() == LogParser.CHUNK_SIZE) {
+                        this.submit(executor, pending, chunk);
+                        chunk = new ArrayList<>(LogParser.CHUNK_SIZE);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                this.submit(executor, pending, chunk);
+            }
+
+            while (!pending.isEmpty()) {
+                this.write(LogParser.await(pending.removeFirst()));
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+
+        LOGGER.info("Parsed {} dynamic analysis records, {} duplicates skipped.", this.records, this.duplicates);
+    }
+
+    private void submit(ExecutorService executor, Deque<Future<List<Tuple<Integer, SootClass, SootMethod>>>> pending,
+            List<String> chunk) {
+        if (executor == null) {
+            this.write(this.parseChunk(chunk));
+            return;
+        }
+
+        // Bound the chunks in flight so memory stays flat however large the log is; results are written in order.
+        if (pending.size() >= this.threads * 2) {
+            this.write(LogParser.await(pending.removeFirst()));
+        }
+        pending.addLast(executor.submit(() -> this.parseChunk(chunk)));
+    }
+
+    private void write(List<Tuple<Integer, SootClass, SootMethod>> records) {
+        List<Tuple<Integer, SootClass, SootMethod>> batch = new ArrayList<>(records.size());
+        for (Tuple<Integer, SootClass, SootMethod> record : records) {
+            this.records++;
+            if (this.isDuplicate(record)) {
+                this.duplicates++;
+            } else {
+                batch.add(record);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            this.writer.accept(batch);
+        }
+    }
+
+    private boolean isDuplicate(Tuple<Integer, SootClass, SootMethod> record) {
+        // A record only changes the graph if its method is new or its control now points at a different listener.
+        boolean newMethod = this.seenMethods.add(record.getRight());
+        if (record.getLeft() == -1) {
+            return !newMethod;
+        }
+
+        Pair<String, Integer> control = new Pair<>(record.getMiddle().getName(), record.getLeft());
+        return this.controlListeners.put(control, record.getRight()) == record.getRight();
+    }
+}
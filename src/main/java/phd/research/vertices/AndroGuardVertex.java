@@ -2,6 +2,7 @@ package phd.research.vertices;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import phd.research.helper.SignaturePool;
 import phd.research.utility.Bytecode;
 
 import javax.annotation.Nonnull;
@@ -25,15 +26,17 @@ public class AndroGuardVertex implements Serializable {
     private final String bytecodeSignature;
 
     private String jimpleSignature;
+    private final int hash;
 
     public AndroGuardVertex(int id, String bytecodeSignature, boolean external, boolean entryPoint) {
         this.id = id;
-        this.bytecodeSignature = Objects.requireNonNull(bytecodeSignature);
+        this.bytecodeSignature = SignaturePool.intern(Objects.requireNonNull(bytecodeSignature));
         this.external = external;
         this.entryPoint = entryPoint;
+        this.hash = this.computeHash();
 
         try {
-            this.jimpleSignature = Bytecode.signatureToJimple(this.bytecodeSignature);
+            this.jimpleSignature = SignaturePool.intern(Bytecode.signatureToJimple(this.bytecodeSignature));
         } catch (RuntimeException e) {
             LOGGER.warn("Failed to convert bytecode signature: {}", bytecodeSignature);
             this.jimpleSignature = null;
@@ -84,6 +87,10 @@ public class AndroGuardVertex implements Serializable {
 
     @Override
     public final int hashCode() {
+        return this.hash;
+    }
+
+    private int computeHash() {
         int result = this.id;
         result = 31 * result + (this.external ? 1 : 0);
         result = 31 * result + (this.entryPoint ? 1 : 0);
@@ -12,6 +12,7 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Jordan Doyle
@@ -19,7 +20,7 @@ import java.util.Objects;
 
 public class DefaultVertex implements Vertex, Serializable {
 
-    private static int currentIdSequenceValue = 0;
+    private static final AtomicInteger currentIdSequenceValue = new AtomicInteger(0);
 
     private final int id;
     @Nonnull
@@ -29,14 +30,12 @@ public class DefaultVertex implements Vertex, Serializable {
     private boolean localVisit;
 
     public DefaultVertex(Type type) {
-        this(currentIdSequenceValue++, type);
+        this(currentIdSequenceValue.getAndIncrement(), type);
     }
 
     public DefaultVertex(int id, Type type) {
         this.id = id;
-        if (currentIdSequenceValue < id) {
-            currentIdSequenceValue = id;
-        }
+        currentIdSequenceValue.accumulateAndGet(id, Math::max);
 
         this.type = Objects.requireNonNull(type);
         this.visit = false;
@@ -44,7 +43,7 @@ public class DefaultVertex implements Vertex, Serializable {
     }
 
     public static void resetIdSequence() {
-        DefaultVertex.currentIdSequenceValue = 0;
+        DefaultVertex.currentIdSequenceValue.set(0);
     }
 
     public int getId() {
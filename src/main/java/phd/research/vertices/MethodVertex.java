@@ -5,6 +5,8 @@ import org.jgrapht.nio.DefaultAttribute;
 import phd.research.enums.Color;
 import phd.research.enums.Shape;
 import phd.research.enums.Type;
+import phd.research.helper.SignaturePool;
+import soot.Body;
 
 import javax.annotation.Nonnull;
 import java.util.Map;
@@ -18,6 +20,10 @@ public class MethodVertex extends DefaultVertex {
 
     @Nonnull
     private final String methodSignature;
+    // Handle for expanding the method into its unit graph on demand; not part of the vertex identity.
+    private transient Body body;
+    // Identity fields are final, so the hash is computed once.
+    private final int hash;
 
     public MethodVertex(String methodSignature) {
         this(Type.METHOD, methodSignature);
@@ -29,12 +35,14 @@ public class MethodVertex extends DefaultVertex {
 
     public MethodVertex(Type type, String methodSignature) {
         super(type);
-        this.methodSignature = Objects.requireNonNull(methodSignature);
+        this.methodSignature = SignaturePool.intern(Objects.requireNonNull(methodSignature));
+        this.hash = this.computeHash();
     }
 
     public MethodVertex(int id, Type type, String methodSignature) {
         super(id, type);
-        this.methodSignature = Objects.requireNonNull(methodSignature);
+        this.methodSignature = SignaturePool.intern(Objects.requireNonNull(methodSignature));
+        this.hash = this.computeHash();
     }
 
     @Nonnull
@@ -42,6 +50,14 @@ public class MethodVertex extends DefaultVertex {
         return this.methodSignature;
     }
 
+    public Body getBody() {
+        return this.body;
+    }
+
+    public void setBody(Body body) {
+        this.body = body;
+    }
+
     public Color getColor() {
         return Color.GREEN;
     }
@@ -93,6 +109,10 @@ public class MethodVertex extends DefaultVertex {
 
     @Override
     public final int hashCode() {
+        return this.hash;
+    }
+
+    private int computeHash() {
         int result = super.hashCode();
         result = 31 * result + methodSignature.hashCode();
         return result;
@@ -5,6 +5,7 @@ import org.jgrapht.nio.DefaultAttribute;
 import phd.research.enums.Color;
 import phd.research.enums.Shape;
 import phd.research.enums.Type;
+import phd.research.helper.SignaturePool;
 
 import javax.annotation.Nonnull;
 import java.util.Map;
@@ -20,17 +21,21 @@ public class UnitVertex extends DefaultVertex {
     private final String methodSignature;
     @Nonnull
     private final String unit;
+    // Identity fields are final, so the hash is computed once.
+    private final int hash;
 
     public UnitVertex(String methodSignature, String unit) {
         super(Type.UNIT);
-        this.methodSignature = Objects.requireNonNull(methodSignature);
+        this.methodSignature = SignaturePool.intern(Objects.requireNonNull(methodSignature));
         this.unit = Objects.requireNonNull(unit);
+        this.hash = this.computeHash();
     }
 
     public UnitVertex(int id, String methodSignature, String unit) {
         super(id, Type.UNIT);
-        this.methodSignature = Objects.requireNonNull(methodSignature);
+        this.methodSignature = SignaturePool.intern(Objects.requireNonNull(methodSignature));
         this.unit = Objects.requireNonNull(unit);
+        this.hash = this.computeHash();
     }
 
     @Nonnull
@@ -96,6 +101,10 @@ public class UnitVertex extends DefaultVertex {
 
     @Override
     public final int hashCode() {
+        return this.hash;
+    }
+
+    private int computeHash() {
         int result = super.getType().hashCode();
         result = 31 * result + methodSignature.hashCode();
         result = 31 * result + unit.hashCode();
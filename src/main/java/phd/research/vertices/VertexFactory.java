@@ -4,12 +4,17 @@ import org.jgrapht.nio.Attribute;
 import phd.research.enums.Type;
 import phd.research.graph.Classifier;
 import phd.research.graph.Control;
+import phd.research.helper.SceneCache;
+import phd.research.helper.SignaturePool;
+import soot.Scene;
 import soot.SootMethod;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * @author Jordan Doyle
@@ -17,22 +22,58 @@ import java.util.Map;
 
 public class VertexFactory {
 
+    private static final SceneCache<SootMethod, Type> METHOD_TYPES = new SceneCache<>();
+
+    private static Classifier classifier;
+    private static Scene classifierScene;
+
+    private final Function<String, Type> knownTypes;
+
     public VertexFactory() {
+        this(methodSignature -> null);
+    }
 
+    public VertexFactory(Function<String, Type> knownTypes) {
+        this.knownTypes = Objects.requireNonNull(knownTypes);
     }
 
     private static List<String> convertStringToList(String listenerString) {
         if (!listenerString.equals("[]")) {
-            return Arrays.asList(listenerString.substring(1, listenerString.length() - 1).split(","));
+            String[] listeners = listenerString.substring(1, listenerString.length() - 1).split(",");
+            for (int i = 0; i < listeners.length; i++) {
+                listeners[i] = SignaturePool.intern(listeners[i]);
+            }
+            return Arrays.asList(listeners);
         }
         return Collections.emptyList();
     }
 
+    public static long getTypeCacheHits() {
+        return VertexFactory.METHOD_TYPES.getHits();
+    }
+
+    public static long getTypeCacheMisses() {
+        return VertexFactory.METHOD_TYPES.getMisses();
+    }
+
+    private static synchronized Type classify(SootMethod method) {
+        // One classifier per Scene, so its entry point utilities are reused rather than rebuilt for every vertex.
+        if (VertexFactory.classifierScene != Scene.v()) {
+            VertexFactory.classifier = new Classifier();
+            VertexFactory.classifierScene = Scene.v();
+        }
+        return VertexFactory.classifier.getMethodType(method);
+    }
+
+    private Type getMethodType(SootMethod method) {
+        Type type = this.knownTypes.apply(method.getSignature());
+        return type != null ? type : VertexFactory.METHOD_TYPES.get(method, VertexFactory::classify);
+    }
+
     public Vertex createVertex(SootMethod method) {
         String methodSignature = method.getSignature();
-        Classifier classifier = new Classifier();
 
-        switch (classifier.getMethodType(method)) {
+        switch (this.getMethodType(method)) {
             case DUMMY:
                 return new DummyVertex(methodSignature);
             case LIFECYCLE:
@@ -76,9 +117,8 @@ public class VertexFactory {
 
     public Vertex createVertex(int id, SootMethod method) {
         String methodSignature = method.getSignature();
-        Classifier classifier = new Classifier();
 
-        switch (classifier.getMethodType(method)) {
+        switch (this.getMethodType(method)) {
             case DUMMY:
                 return new DummyVertex(id, methodSignature);
             case LIFECYCLE:
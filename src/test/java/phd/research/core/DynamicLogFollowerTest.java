@@ -0,0 +1,131 @@
+package phd.research.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import phd.research.utility.LogHandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class DynamicLogFollowerTest {
+
+    private static final long TIMEOUT = 5000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File logFile;
+    private List<String> applied;
+    private volatile int batches;
+    private DynamicLogFollower follower;
+    private Thread followerThread;
+
+    private static String record(int index) {
+        return "D/Logger: " + LogHandler.M_TAG + " <com.example.Activity: void method" + index + "()>";
+    }
+
+    private void append(String content) throws IOException {
+        Files.write(this.logFile.toPath(), content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    private void truncate(String content) throws IOException {
+        Files.write(this.logFile.toPath(), content.getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.TRUNCATE_EXISTING
+                   );
+    }
+
+    private List<String> awaitApplied(int records) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + DynamicLogFollowerTest.TIMEOUT;
+        synchronized (this) {
+            while (this.applied.size() < records && System.currentTimeMillis() < deadline) {
+                this.wait(50);
+            }
+            return new ArrayList<>(this.applied);
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        this.logFile = this.folder.newFile("traversal.log");
+        this.applied = new ArrayList<>();
+        this.follower = new DynamicLogFollower(lines -> {
+            synchronized (this) {
+                this.applied.addAll(lines);
+                this.notifyAll();
+            }
+            return lines.size();
+        }, () -> this.batches++);
+        this.followerThread = new Thread(() -> {
+            try {
+                this.follower.followFile(this.logFile);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        this.followerThread.start();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        this.follower.stop();
+        this.followerThread.join(DynamicLogFollowerTest.TIMEOUT);
+    }
+
+    @Test
+    public void testAppendedRecordsAppliedOnce() throws IOException, InterruptedException {
+        this.append(DynamicLogFollowerTest.record(0) + "\n");
+        assertEquals("First record should be applied.", Collections.singletonList(DynamicLogFollowerTest.record(0)),
+                this.awaitApplied(1)
+                    );
+
+        this.append("Unrelated log line\n" + DynamicLogFollowerTest.record(1) + "\n");
+        assertEquals("Only the new record should be applied.",
+                Arrays.asList(DynamicLogFollowerTest.record(0), DynamicLogFollowerTest.record(1)),
+                this.awaitApplied(2)
+                    );
+
+        Thread.sleep(500);
+        assertEquals("Records should not be applied again.", 2, this.awaitApplied(2).size());
+        assertEquals("Batch listener should be notified for each applied batch.", 2, this.batches);
+    }
+
+    @Test
+    public void testPartialLineBuffered() throws IOException, InterruptedException {
+        String record = DynamicLogFollowerTest.record(0);
+        this.append(record.substring(0, 20));
+        Thread.sleep(500);
+        assertTrue("Partial record should not be applied.", this.awaitApplied(0).isEmpty());
+
+        this.append(record.substring(20) + "\r\n");
+        assertEquals("Completed record should be applied.", Collections.singletonList(record),
+                this.awaitApplied(1)
+                    );
+    }
+
+    @Test
+    public void testTruncatedFileFollowedFromStart() throws IOException, InterruptedException {
+        this.append(DynamicLogFollowerTest.record(0) + "\n" + DynamicLogFollowerTest.record(1) + "\n");
+        assertEquals("Wrong number of records applied.", 2, this.awaitApplied(2).size());
+
+        this.truncate(DynamicLogFollowerTest.record(2) + "\n");
+        assertEquals("Record of the truncated file should be applied.", DynamicLogFollowerTest.record(2),
+                this.awaitApplied(3).get(2)
+                    );
+    }
+}
@@ -0,0 +1,102 @@
+package phd.research.graph;
+
+import org.junit.Before;
+import org.junit.Test;
+import soot.*;
+import soot.jimple.Jimple;
+import soot.jimple.JimpleBody;
+import soot.jimple.Stmt;
+import soot.jimple.toolkits.callgraph.CallGraph;
+import soot.jimple.toolkits.callgraph.Edge;
+import soot.jimple.toolkits.ide.icfg.JimpleBasedInterproceduralCFG;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class CallSiteIndexTest {
+
+    private final Map<Kind, Stmt> callSites = new LinkedHashMap<>();
+    private final Map<Kind, SootMethod> targets = new HashMap<>();
+    private CallSiteIndex index;
+
+    private static SootMethod addMethod(SootClass clazz, String name, boolean body) {
+        SootMethod method =
+                new SootMethod(name, Collections.emptyList(), VoidType.v(), Modifier.PUBLIC | Modifier.STATIC);
+        clazz.addMethod(method);
+        if (body) {
+            JimpleBody methodBody = Jimple.v().newBody(method);
+            methodBody.getUnits().add(Jimple.v().newReturnVoidStmt());
+            method.setActiveBody(methodBody);
+        }
+        return method;
+    }
+
+    private static SootClass addClass(String name) {
+        SootClass clazz = new SootClass(name, Modifier.PUBLIC);
+        clazz.setSuperclass(Scene.v().getSootClass("java.lang.Object"));
+        Scene.v().addClass(clazz);
+        clazz.setApplicationClass();
+        return clazz;
+    }
+
+    @Before
+    public void setUp() {
+        G.reset();
+        Scene.v().addClass(new SootClass("java.lang.Object", Modifier.PUBLIC));
+
+        SootClass target = CallSiteIndexTest.addClass("com.example.Target");
+        this.targets.put(Kind.STATIC, CallSiteIndexTest.addMethod(target, "explicit", true));
+        this.targets.put(Kind.THREAD, CallSiteIndexTest.addMethod(target, "fake", true));
+        this.targets.put(Kind.CLINIT, CallSiteIndexTest.addMethod(target, SootMethod.staticInitializerName, true));
+        this.targets.put(Kind.REFL_INVOKE, CallSiteIndexTest.addMethod(target, "reflective", true));
+        this.targets.put(Kind.VIRTUAL, CallSiteIndexTest.addMethod(target, "bodiless", false));
+
+        SootClass caller = CallSiteIndexTest.addClass("com.example.Caller");
+        SootMethod run = CallSiteIndexTest.addMethod(caller, "run", true);
+        CallGraph callGraph = new CallGraph();
+        for (Kind kind : Arrays.asList(Kind.STATIC, Kind.THREAD, Kind.CLINIT, Kind.REFL_INVOKE, Kind.VIRTUAL)) {
+            SootMethodRef targetRef = this.targets.get(kind).makeRef();
+            Stmt callSite = Jimple.v().newInvokeStmt(Jimple.v().newStaticInvokeExpr(targetRef));
+            run.getActiveBody().getUnits().addFirst(callSite);
+            callGraph.addEdge(new Edge(run, callSite, this.targets.get(kind), kind));
+            this.callSites.put(kind, callSite);
+        }
+        Scene.v().setCallGraph(callGraph);
+
+        this.index = new CallSiteIndex(callGraph, method -> true);
+    }
+
+    @Test
+    public void testMatchesInterproceduralCFG() {
+        JimpleBasedInterproceduralCFG icfg = new JimpleBasedInterproceduralCFG();
+        for (Map.Entry<Kind, Stmt> entry : this.callSites.entrySet()) {
+            Collection<SootMethod> expected = new ArrayList<>(icfg.getCalleesOfCallAt(entry.getValue()));
+            // Bodiless callees were dropped after the lookup when linking through the interprocedural CFG.
+            expected.removeIf(method -> !method.hasActiveBody());
+            assertEquals("Callees of the " + entry.getKey() + " call site should match the interprocedural CFG.",
+                    new ArrayList<>(expected), this.index.getCallees(entry.getValue())
+                        );
+        }
+    }
+
+    @Test
+    public void testIndexedEdgeKinds() {
+        for (Kind kind : Arrays.asList(Kind.STATIC, Kind.THREAD, Kind.CLINIT)) {
+            assertEquals("Wrong callees of the " + kind + " call site.",
+                    Collections.singletonList(this.targets.get(kind)), this.index.getCallees(this.callSites.get(kind))
+                        );
+        }
+        assertTrue("Reflective calls should not be indexed.",
+                this.index.getCallees(this.callSites.get(Kind.REFL_INVOKE)).isEmpty()
+                  );
+        assertTrue("Bodiless callees should not be indexed.",
+                this.index.getCallees(this.callSites.get(Kind.VIRTUAL)).isEmpty()
+                  );
+        assertEquals("Wrong number of indexed call sites.", 3, this.index.size());
+    }
+}
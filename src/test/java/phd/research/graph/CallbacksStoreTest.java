@@ -0,0 +1,48 @@
+package phd.research.graph;
+
+import org.junit.Before;
+import org.junit.Test;
+import soot.jimple.infoflow.android.callbacks.AndroidCallbackDefinition.CallbackType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class CallbacksStoreTest {
+
+    private final String ACTIVITY = "com.example.lifecycle.ActivityA";
+    private final String ON_CLICK = "<" + ACTIVITY + ": void onClick(android.view.View)>";
+    private final String ON_RESULT = "<" + ACTIVITY + ": void onActivityResult(int,int,android.content.Intent)>";
+
+    private CallbacksStore store;
+
+    @Before
+    public void setUp() {
+        List<String> dictionary = Arrays.asList(ACTIVITY, ON_CLICK, ON_RESULT);
+        Map<String, int[]> classCallbacks = new HashMap<>();
+        classCallbacks.put(ACTIVITY, new int[]{1, CallbackType.Default.ordinal(), 1, CallbackType.Widget.ordinal(), 2,
+                CallbackType.Default.ordinal()});
+        this.store = new CallbacksStore(dictionary, classCallbacks, new int[0]);
+    }
+
+    @Test
+    public void testGetCallbackType() {
+        assertEquals("Widget definition should take precedence.", CallbackType.Widget,
+                this.store.getCallbackType(ACTIVITY, ON_CLICK)
+                    );
+        assertEquals("Wrong callback type for other callback.", CallbackType.Default,
+                this.store.getCallbackType(ACTIVITY, ON_RESULT)
+                    );
+        assertNull("Unknown class should have no callbacks.",
+                this.store.getCallbackType("com.example.Other", ON_CLICK)
+                  );
+        assertEquals("Wrong number of callbacks.", 3, this.store.getCallbackCount());
+    }
+}
@@ -0,0 +1,107 @@
+package phd.research.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.Before;
+import org.junit.Test;
+import phd.research.vertices.DefaultVertex;
+import phd.research.vertices.MethodVertex;
+import phd.research.vertices.Vertex;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class CompactGraphTest {
+
+    private Graph<Vertex, DefaultEdge> expected;
+    private CompactGraph graph;
+    private List<Vertex> vertices;
+
+    @Before
+    public void setUp() {
+        DefaultVertex.resetIdSequence();
+        this.vertices = new ArrayList<>();
+        this.expected = new DefaultDirectedGraph<>(DefaultEdge.class);
+        for (int i = 0; i < 50; i++) {
+            Vertex vertex = new MethodVertex("<com.example.Class: void method" + i + "()>");
+            this.vertices.add(vertex);
+            this.expected.addVertex(vertex);
+        }
+        for (int i = 0; i < 50; i += 2) {
+            this.expected.addEdge(this.vertices.get(i), this.vertices.get((i * 7) % 50));
+            this.expected.addEdge(this.vertices.get(i), this.vertices.get((i * 13 + 1) % 50));
+        }
+        this.expected.addEdge(this.vertices.get(3), this.vertices.get(3));
+        this.graph = new CompactGraph(this.expected);
+    }
+
+    @Test
+    public void testStructureMatchesGraph() {
+        assertEquals("Wrong vertex set.", this.expected.vertexSet(), this.graph.vertexSet());
+        assertEquals("Wrong number of edges.", this.expected.edgeSet().size(), this.graph.edgeSet().size());
+
+        Set<String> expectedEdges = new HashSet<>();
+        this.expected.edgeSet().forEach(edge -> expectedEdges.add(
+                this.expected.getEdgeSource(edge).getId() + ":" + this.expected.getEdgeTarget(edge).getId()));
+        Set<String> edges = new HashSet<>();
+        this.graph.edgeSet().forEach(edge -> edges.add(
+                this.graph.getEdgeSource(edge).getId() + ":" + this.graph.getEdgeTarget(edge).getId()));
+        assertEquals("Wrong edges.", expectedEdges, edges);
+
+        for (Vertex vertex : this.vertices) {
+            assertEquals("Wrong out degree.", this.expected.outDegreeOf(vertex), this.graph.outDegreeOf(vertex));
+            assertEquals("Wrong in degree.", this.expected.inDegreeOf(vertex), this.graph.inDegreeOf(vertex));
+            assertEquals("Wrong incident edges.", this.expected.edgesOf(vertex).size(),
+                    this.graph.edgesOf(vertex).size()
+                        );
+            for (DefaultEdge edge : this.graph.incomingEdgesOf(vertex)) {
+                assertSame("Wrong incoming edge target.", vertex, this.graph.getEdgeTarget(edge));
+            }
+        }
+    }
+
+    @Test
+    public void testEdgeLookup() {
+        DefaultEdge edge = this.graph.getEdge(this.vertices.get(2), this.vertices.get(14));
+        assertNotNull("Edge should be found.", edge);
+        assertTrue("Edge should be contained.", this.graph.containsEdge(edge));
+        assertEquals("Edge lookups should be equal.", edge, this.graph.getEdge(this.vertices.get(2), this.vertices.get(14)));
+        assertTrue("Outgoing edges should contain edge.", this.graph.outgoingEdgesOf(this.vertices.get(2)).contains(edge));
+        assertNull("Edge should not be found.", this.graph.getEdge(this.vertices.get(14), this.vertices.get(2)));
+        assertTrue("Self loop should be found.", this.graph.containsEdge(this.vertices.get(3), this.vertices.get(3)));
+    }
+
+    @Test
+    public void testPrimitiveTraversal() {
+        int id = this.graph.getVertexId(this.vertices.get(4));
+        List<Vertex> successors = new ArrayList<>();
+        this.graph.forEachSuccessor(id, successor -> successors.add(this.graph.getVertex(successor)));
+        assertEquals("Wrong number of successors.", 2, successors.size());
+        assertTrue("Missing successor.", successors.contains(this.vertices.get(28)));
+
+        List<Vertex> predecessors = new ArrayList<>();
+        this.graph.forEachPredecessor(this.graph.getVertexId(this.vertices.get(28)),
+                predecessor -> predecessors.add(this.graph.getVertex(predecessor))
+                                     );
+        assertTrue("Missing predecessor.", predecessors.contains(this.vertices.get(4)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAddVertexException() {
+        this.graph.addVertex(new MethodVertex("<com.example.Class: void other()>"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRemoveEdgeException() {
+        this.graph.removeEdge(this.vertices.get(2), this.vertices.get(14));
+    }
+}
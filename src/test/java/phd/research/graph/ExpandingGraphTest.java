@@ -0,0 +1,159 @@
+package phd.research.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DefaultListenableGraph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import phd.research.enums.Format;
+import phd.research.utility.Writer;
+import phd.research.vertices.DefaultVertex;
+import phd.research.vertices.MethodVertex;
+import phd.research.vertices.UnitVertex;
+import phd.research.vertices.Vertex;
+import soot.*;
+import soot.jimple.Jimple;
+import soot.jimple.JimpleBody;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class ExpandingGraphTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ExpandingGraph graph;
+    private UnitGraphCache cache;
+    private VertexIndex index;
+    private MethodVertex caller;
+    private MethodVertex callee;
+    private MethodVertex other;
+    private List<Graph<Vertex, DefaultEdge>> linked;
+
+    private static Body createBody(String methodName) {
+        SootClass clazz = new SootClass("com.example.Expanding" + methodName);
+        SootMethod method = new SootMethod(methodName, Collections.emptyList(), VoidType.v());
+        clazz.addMethod(method);
+        JimpleBody body = Jimple.v().newBody(method);
+        body.getUnits().add(Jimple.v().newNopStmt());
+        body.getUnits().add(Jimple.v().newReturnVoidStmt());
+        method.setActiveBody(body);
+        return body;
+    }
+
+    private static MethodVertex createVertex(String methodName) {
+        Body body = ExpandingGraphTest.createBody(methodName);
+        MethodVertex vertex = new MethodVertex(body.getMethod().getSignature());
+        vertex.setBody(body);
+        return vertex;
+    }
+
+    private static long countUnitVertices(Graph<Vertex, DefaultEdge> graph) {
+        return graph.vertexSet().stream().filter(v -> v instanceof UnitVertex).count();
+    }
+
+    private long countUnitVertices() {
+        return ExpandingGraphTest.countUnitVertices(this.graph);
+    }
+
+    @Before
+    public void setUp() {
+        DefaultVertex.resetIdSequence();
+        this.caller = ExpandingGraphTest.createVertex("caller");
+        this.callee = ExpandingGraphTest.createVertex("callee");
+        this.other = ExpandingGraphTest.createVertex("other");
+
+        DefaultListenableGraph<Vertex, DefaultEdge> base =
+                new DefaultListenableGraph<>(new DefaultDirectedGraph<>(DefaultEdge.class));
+        this.index = new VertexIndex();
+        base.addVertexSetListener(this.index);
+        base.addVertex(this.caller);
+        base.addVertex(this.callee);
+        base.addVertex(this.other);
+        base.addEdge(this.caller, this.callee);
+
+        this.cache = new UnitGraphCache(1);
+        this.linked = new ArrayList<>();
+        this.graph = new ExpandingGraph(base, this.cache, this.index, (graph, unitGraph) -> this.linked.add(graph));
+    }
+
+    @Test
+    public void testTraversalExpandsMethod() {
+        assertEquals("No unit vertices should be added before a traversal.", 0, this.countUnitVertices());
+
+        assertEquals("Wrong number of outgoing edges.", 2, this.graph.outgoingEdgesOf(this.caller).size());
+        assertTrue("Traversed method should be expanded.", this.graph.isExpanded(this.caller));
+        assertFalse("Untraversed method should not be expanded.", this.graph.isExpanded(this.callee));
+        assertEquals("Wrong number of unit vertices.", 2, this.countUnitVertices());
+        assertEquals("Call sites should be linked once.", Collections.singletonList(this.graph), this.linked);
+
+        this.graph.outgoingEdgesOf(this.caller);
+        assertEquals("Method should only be expanded once.", 1, this.linked.size());
+    }
+
+    @Test
+    public void testEvictionBoundsResidentVertices() {
+        for (MethodVertex vertex : Arrays.asList(this.caller, this.callee, this.other, this.caller)) {
+            this.graph.outgoingEdgesOf(vertex);
+            assertEquals("Only the cached method should be expanded.", 1, this.graph.getExpandedCount());
+            assertTrue("Traversed method should be expanded.", this.graph.isExpanded(vertex));
+            assertEquals("Resident unit vertices should be bounded by the cache.", 2, this.countUnitVertices());
+        }
+
+        assertEquals("Wrong number of evictions.", 3, this.cache.getEvictions());
+        assertEquals("Wrong number of vertices.", 5, this.graph.vertexSet().size());
+        assertNull("Evicted units should be removed from the index.",
+                this.index.getUnitVertex(this.other.getBody().getUnits().getFirst())
+                  );
+        assertNotNull("Resident units should be indexed.",
+                this.index.getUnitVertex(this.caller.getBody().getUnits().getFirst())
+                     );
+    }
+
+    @Test
+    public void testEvictedUnitVertexReexpanded() {
+        this.graph.outgoingEdgesOf(this.caller);
+        UnitVertex nop = this.index.getUnitVertex(this.caller.getBody().getUnits().getFirst());
+        this.graph.outgoingEdgesOf(this.callee);
+        assertFalse("Evicted unit vertex should be removed.", this.graph.containsVertex(nop));
+
+        assertEquals("Wrong number of outgoing edges.", 1, this.graph.outgoingEdgesOf(nop).size());
+        assertTrue("Traversing a unit vertex should re-expand its method.", this.graph.isExpanded(this.caller));
+        assertFalse("Other method should be evicted.", this.graph.isExpanded(this.callee));
+    }
+
+    @Test
+    public void testExportContainsUnits() throws IOException {
+        this.graph.outgoingEdgesOf(this.caller);
+        Graph<Vertex, DefaultEdge> expandedGraph = this.graph.getExpandedGraph();
+        assertEquals("Wrong number of unit vertices in the expanded graph.", 6,
+                ExpandingGraphTest.countUnitVertices(expandedGraph)
+                    );
+        assertEquals("Resident graph should not be expanded by an export.", 2, this.countUnitVertices());
+        assertEquals("Expanding for an export should not build cached unit graphs.", 1, this.cache.getBuilds());
+        assertEquals("Unexpanded methods should be linked in the expanded graph.", 3, this.linked.size());
+
+        Writer.writeGraph(this.folder.getRoot(), "lazy_graph", Format.JSON, expandedGraph);
+        String content = new String(Files.readAllBytes(new File(this.folder.getRoot(), "lazy_graph.json").toPath()),
+                StandardCharsets.UTF_8
+        );
+        assertTrue("Exported graph should contain unit statements.", content.contains("\"unit\":\"nop\""));
+        assertTrue("Exported graph should contain return statements.", content.contains("\"unit\":\"return\""));
+    }
+}
@@ -0,0 +1,91 @@
+package phd.research.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.Before;
+import org.junit.Test;
+import phd.research.vertices.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class GraphBuilderTest {
+
+    private GraphBuilder builder;
+    private List<Vertex> vertices;
+
+    @Before
+    public void setUp() {
+        DefaultVertex.resetIdSequence();
+        this.builder = new GraphBuilder(2, 2);
+        this.vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            this.vertices.add(new MethodVertex("<com.example.Class: void method" + i + "()>"));
+        }
+    }
+
+    @Test
+    public void testAddVertex() {
+        assertTrue("New vertex should be added.", this.builder.addVertex(this.vertices.get(0)));
+        assertFalse("Existing vertex should not be added.", this.builder.addVertex(this.vertices.get(0)));
+        assertTrue("Vertex should be contained.", this.builder.containsVertex(this.vertices.get(0)));
+        assertEquals("Wrong number of vertices.", 1, this.builder.vertexCount());
+    }
+
+    @Test
+    public void testDuplicateEdges() {
+        this.vertices.forEach(this.builder::addVertex);
+        for (int i = 0; i < 99; i++) {
+            assertTrue("New edge should be added.", this.builder.addEdge(this.vertices.get(i), this.vertices.get(i + 1)));
+        }
+        for (int i = 0; i < 99; i++) {
+            assertFalse("Duplicate edge should not be added.",
+                    this.builder.addEdge(this.vertices.get(i), this.vertices.get(i + 1))
+                        );
+        }
+        assertTrue("Reverse edge should be added.", this.builder.addEdge(this.vertices.get(1), this.vertices.get(0)));
+        assertTrue("Self loop should be added.", this.builder.addEdge(this.vertices.get(5), this.vertices.get(5)));
+        assertEquals("Wrong number of edges.", 101, this.builder.edgeCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingVertexException() {
+        this.builder.addVertex(this.vertices.get(0));
+        this.builder.addEdge(this.vertices.get(0), this.vertices.get(1));
+    }
+
+    @Test
+    public void testBuildMatchesGraph() {
+        Graph<Vertex, DefaultEdge> expected = new DefaultDirectedGraph<>(DefaultEdge.class);
+        this.vertices.forEach(expected::addVertex);
+        for (int i = 0; i < 100; i++) {
+            expected.addEdge(this.vertices.get(i), this.vertices.get((i * 7) % 100));
+            expected.addEdge(this.vertices.get(i), this.vertices.get((i * 13) % 100));
+        }
+
+        this.builder.addGraph(expected);
+        Graph<Vertex, DefaultEdge> graph = this.builder.build();
+
+        assertEquals("Wrong vertex set.", expected.vertexSet(), graph.vertexSet());
+        assertEquals("Wrong number of edges.", expected.edgeSet().size(), graph.edgeSet().size());
+        for (DefaultEdge edge : expected.edgeSet()) {
+            assertTrue("Missing edge.", graph.containsEdge(expected.getEdgeSource(edge), expected.getEdgeTarget(edge)));
+        }
+    }
+
+    @Test
+    public void testVertexListener() {
+        VertexIndex index = new VertexIndex();
+        this.builder.addVertexSetListener(index);
+        MethodVertex vertex = (MethodVertex) this.vertices.get(0);
+        this.builder.addVertex(vertex);
+        assertSame("Listener not notified.", vertex, index.getMethodVertex(vertex.getMethodSignature()));
+    }
+}
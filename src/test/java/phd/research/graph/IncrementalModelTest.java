@@ -0,0 +1,147 @@
+package phd.research.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import phd.research.utility.Importer;
+import phd.research.utility.Writer;
+import phd.research.vertices.*;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.Unit;
+import soot.VoidType;
+import soot.jimple.Jimple;
+import soot.jimple.JimpleBody;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class IncrementalModelTest {
+
+    private final String UNCHANGED_CLASS = "com.example.lifecycle.ActivityA";
+    private final String CHANGED_CLASS = "com.example.lifecycle.ActivityB";
+    private final String UNCHANGED_METHOD = "<" + UNCHANGED_CLASS + ": void onClick(android.view.View)>";
+    private final String CHANGED_METHOD = "<" + CHANGED_CLASS + ": void onCreate(android.os.Bundle)>";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private IncrementalModel model;
+
+    @Before
+    public void setUp() {
+        DefaultVertex.resetIdSequence();
+        Graph<Vertex, DefaultEdge> graph = new DefaultDirectedGraph<>(DefaultEdge.class);
+        Vertex unchangedMethod = new ListenerVertex(UNCHANGED_METHOD);
+        Vertex changedMethod = new LifecycleVertex(CHANGED_METHOD);
+        Vertex firstUnit = new UnitVertex(UNCHANGED_METHOD, "nop");
+        Vertex secondUnit = new UnitVertex(UNCHANGED_METHOD, "return");
+        Vertex changedUnit = new UnitVertex(CHANGED_METHOD, "return");
+        Vertex control = new ControlVertex(
+                new Control(1, "btn_click_A", 2, "activity_a", UNCHANGED_CLASS, Collections.emptyList()));
+        for (Vertex vertex : new Vertex[]{unchangedMethod, changedMethod, firstUnit, secondUnit, changedUnit,
+                control}) {
+            graph.addVertex(vertex);
+        }
+        graph.addEdge(unchangedMethod, firstUnit);
+        graph.addEdge(firstUnit, secondUnit);
+        graph.addEdge(secondUnit, changedMethod);
+        graph.addEdge(changedMethod, changedUnit);
+        graph.addEdge(control, unchangedMethod);
+
+        Map<String, String> previous = new HashMap<>();
+        previous.put(UNCHANGED_CLASS, "a");
+        previous.put(CHANGED_CLASS, "b");
+        Map<String, String> current = new HashMap<>();
+        current.put(UNCHANGED_CLASS, "a");
+        current.put(CHANGED_CLASS, "c");
+        Map<String, String> unitOrdinals = new HashMap<>();
+        unitOrdinals.put(UNCHANGED_METHOD, "0,1,1");
+        unitOrdinals.put(CHANGED_METHOD, "0");
+        this.model = new IncrementalModel(graph, previous, unitOrdinals, current);
+    }
+
+    @Test
+    public void testUnchangedClasses() {
+        assertTrue("Method of an unchanged class should be unchanged.", this.model.isUnchangedMethod(UNCHANGED_METHOD));
+        assertFalse("Method of a changed class should be changed.", this.model.isUnchangedMethod(CHANGED_METHOD));
+    }
+
+    @Test
+    public void testUnitGraphReused() {
+        Graph<Vertex, DefaultEdge> unitGraph = this.model.getUnitGraph(UNCHANGED_METHOD);
+        assertNotNull("Unchanged unit graph should be reused.", unitGraph);
+        assertEquals("Wrong number of unit vertices.", 2, unitGraph.vertexSet().size());
+        assertEquals("Only edges between units should be kept.", 1, unitGraph.edgeSet().size());
+        assertNull("Changed unit graph should not be reused.", this.model.getUnitGraph(CHANGED_METHOD));
+    }
+
+    @Test
+    public void testUnitsMatchedByPosition() {
+        List<Unit> units = Arrays.asList(Jimple.v().newNopStmt(), Jimple.v().newReturnVoidStmt(),
+                Jimple.v().newReturnVoidStmt()
+                                        );
+        Map<Unit, UnitVertex> unitVertices = this.model.matchUnits(UNCHANGED_METHOD, units);
+        assertNotNull("Body with the recorded number of units should match.", unitVertices);
+        assertEquals("Wrong vertex for first unit.", "nop", unitVertices.get(units.get(0)).getUnit());
+        assertSame("Identical statements should share a vertex.", unitVertices.get(units.get(1)),
+                unitVertices.get(units.get(2))
+                  );
+        assertNull("Body with a different number of units should not match.",
+                this.model.matchUnits(UNCHANGED_METHOD, units.subList(0, 2))
+                  );
+        assertNull("Changed method should not match.", this.model.matchUnits(CHANGED_METHOD, units.subList(0, 1)));
+    }
+
+    @Test
+    public void testComputeUnitOrdinals() {
+        UnitVertex first = new UnitVertex(UNCHANGED_METHOD, "nop");
+        UnitVertex second = new UnitVertex(UNCHANGED_METHOD, "return");
+        assertEquals("Wrong unit ordinals.", "1,0,1",
+                IncrementalModel.computeUnitOrdinals(Arrays.asList(second, first, second))
+                    );
+    }
+
+    @Test
+    public void testFingerprintChangesWithBody() {
+        SootClass clazz = new SootClass(UNCHANGED_CLASS);
+        SootMethod method = new SootMethod("onResume", Collections.emptyList(), VoidType.v());
+        clazz.addMethod(method);
+        JimpleBody body = Jimple.v().newBody(method);
+        body.getUnits().add(Jimple.v().newReturnVoidStmt());
+        method.setActiveBody(body);
+
+        String fingerprint = IncrementalModel.computeFingerprint(clazz);
+        assertEquals("Fingerprint should be stable.", fingerprint, IncrementalModel.computeFingerprint(clazz));
+        body.getUnits().addFirst(Jimple.v().newNopStmt());
+        assertNotEquals("Fingerprint should change with the body.", fingerprint,
+                IncrementalModel.computeFingerprint(clazz)
+                       );
+    }
+
+    @Test
+    public void testFingerprintsRoundTrip() throws IOException {
+        File graphFile = new File(this.folder.getRoot(), "app_control_flow_graph.json");
+        File fingerprintsFile = IncrementalModel.getFingerprintsFile(graphFile);
+        assertEquals("Wrong fingerprints file name.", "app_control_flow_graph_fingerprints.txt",
+                fingerprintsFile.getName()
+                    );
+
+        Map<String, String> fingerprints = new HashMap<>();
+        fingerprints.put(UNCHANGED_CLASS, "0a1b");
+        fingerprints.put(CHANGED_CLASS, "2c3d");
+        Writer.writeMap(this.folder.getRoot(), fingerprintsFile.getName(), fingerprints);
+        assertEquals("Wrong fingerprints imported.", fingerprints, Importer.importFingerprints(fingerprintsFile));
+    }
+}
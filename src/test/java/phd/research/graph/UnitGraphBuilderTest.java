@@ -0,0 +1,97 @@
+package phd.research.graph;
+
+import org.junit.Before;
+import org.junit.Test;
+import phd.research.vertices.DefaultVertex;
+import phd.research.vertices.MethodVertex;
+import phd.research.vertices.UnitVertex;
+import soot.*;
+import soot.jimple.IntConstant;
+import soot.jimple.Jimple;
+import soot.jimple.JimpleBody;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class UnitGraphBuilderTest {
+
+    private List<MethodVertex> vertices;
+
+    private static Body createBody(String methodName, int size) {
+        SootClass clazz = new SootClass("com.example.Builder" + methodName);
+        SootMethod method = new SootMethod(methodName, Collections.emptyList(), VoidType.v());
+        clazz.addMethod(method);
+        JimpleBody body = Jimple.v().newBody(method);
+        Local local = Jimple.v().newLocal("i", IntType.v());
+        body.getLocals().add(local);
+        for (int i = 0; i < size; i++) {
+            body.getUnits().add(Jimple.v().newAssignStmt(local, IntConstant.v(i)));
+        }
+        body.getUnits().add(Jimple.v().newReturnVoidStmt());
+        method.setActiveBody(body);
+        return body;
+    }
+
+    private static List<String> buildUnitVertices(List<MethodVertex> vertices, int threads) {
+        DefaultVertex.resetIdSequence();
+        List<String> unitVertices = new ArrayList<>();
+        new UnitGraphBuilder(threads).build(vertices, vertex -> true, (vertex, unitGraphs) -> {
+            UnitGraph unitGraph = unitGraphs.get();
+            unitGraph.getGraph();
+            vertex.getBody().getUnits().forEach(unit -> {
+                UnitVertex unitVertex = unitGraph.getUnitVertex(unit);
+                unitVertices.add(unitVertex.getId() + " " + unitVertex);
+            });
+        });
+        return unitVertices;
+    }
+
+    @Before
+    public void setUp() {
+        this.vertices = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            Body body = UnitGraphBuilderTest.createBody("method" + i, 64 - i * 2);
+            MethodVertex vertex = new MethodVertex(body.getMethod().getSignature());
+            vertex.setBody(body);
+            this.vertices.add(vertex);
+        }
+    }
+
+    @Test
+    public void testParallelBuildMatchesSequential() {
+        List<String> sequential = UnitGraphBuilderTest.buildUnitVertices(this.vertices, 1);
+        List<String> parallel = UnitGraphBuilderTest.buildUnitVertices(this.vertices, 4);
+
+        assertEquals("Wrong number of units.", 1088, sequential.size());
+        assertEquals("Parallel build should assign the same ids as a sequential build.", sequential, parallel);
+    }
+
+    @Test
+    public void testMergedInMethodOrder() {
+        List<MethodVertex> merged = new ArrayList<>();
+        new UnitGraphBuilder(4).build(this.vertices, vertex -> true, (vertex, unitGraphs) -> merged.add(vertex));
+        assertEquals("Unit graphs should be merged in method order.", this.vertices, merged);
+    }
+
+    @Test
+    public void testSkippedMethodBuiltOnMerge() {
+        List<UnitGraph> unitGraphs = new ArrayList<>();
+        new UnitGraphBuilder(4).build(this.vertices, vertex -> false,
+                (vertex, unitGraph) -> unitGraphs.add(unitGraph.get())
+        );
+        assertEquals("Every unit graph should be built.", this.vertices.size(), unitGraphs.size());
+        assertFalse("Unit graphs should not be null.", unitGraphs.contains(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThreadsIllegalArgumentException() {
+        new UnitGraphBuilder(0);
+    }
+}
@@ -0,0 +1,91 @@
+package phd.research.graph;
+
+import org.junit.Before;
+import org.junit.Test;
+import phd.research.vertices.DefaultVertex;
+import phd.research.vertices.MethodVertex;
+import soot.*;
+import soot.jimple.Jimple;
+import soot.jimple.JimpleBody;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class UnitGraphCacheTest {
+
+    private UnitGraphCache cache;
+    private List<MethodVertex> vertices;
+
+    private static Body createBody(String methodName) {
+        SootClass clazz = new SootClass("com.example.Class" + methodName);
+        SootMethod method = new SootMethod(methodName, Collections.emptyList(), VoidType.v());
+        clazz.addMethod(method);
+        JimpleBody body = Jimple.v().newBody(method);
+        body.getUnits().add(Jimple.v().newNopStmt());
+        body.getUnits().add(Jimple.v().newReturnVoidStmt());
+        method.setActiveBody(body);
+        return body;
+    }
+
+    @Before
+    public void setUp() {
+        DefaultVertex.resetIdSequence();
+        this.cache = new UnitGraphCache(2);
+        this.vertices = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            MethodVertex vertex = new MethodVertex("<com.example.Class: void method" + i + "()>");
+            vertex.setBody(UnitGraphCacheTest.createBody("method" + i));
+            this.vertices.add(vertex);
+        }
+    }
+
+    @Test
+    public void testUnitGraphCached() {
+        UnitGraph unitGraph = this.cache.getUnitGraph(this.vertices.get(0));
+        assertNotNull("Unit graph should be built.", unitGraph);
+        assertEquals("Wrong number of unit vertices.", 2, unitGraph.getGraph().vertexSet().size());
+        assertSame("Cached unit graph should be returned.", unitGraph, this.cache.getUnitGraph(this.vertices.get(0)));
+        assertEquals("Unit graph should only be built once.", 1, this.cache.getBuilds());
+        assertEquals("Wrong number of cache hits.", 1, this.cache.getHits());
+    }
+
+    @Test
+    public void testEvictionListenerNotified() {
+        List<MethodVertex> evicted = new ArrayList<>();
+        this.cache.addEvictionListener((vertex, unitGraph) -> evicted.add(vertex));
+        this.cache.getUnitGraph(this.vertices.get(0));
+        this.cache.getUnitGraph(this.vertices.get(1));
+        assertTrue("Listener should not be notified below capacity.", evicted.isEmpty());
+
+        this.cache.getUnitGraph(this.vertices.get(2));
+        assertEquals("Listener should be notified of the evicted method.",
+                Collections.singletonList(this.vertices.get(0)), evicted
+                    );
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        UnitGraph first = this.cache.getUnitGraph(this.vertices.get(0));
+        this.cache.getUnitGraph(this.vertices.get(1));
+        this.cache.getUnitGraph(this.vertices.get(0));
+        this.cache.getUnitGraph(this.vertices.get(2));
+
+        assertEquals("Cache should not exceed its capacity.", 2, this.cache.size());
+        assertEquals("Wrong number of evictions.", 1, this.cache.getEvictions());
+        assertSame("Recently used unit graph should be kept.", first, this.cache.getUnitGraph(this.vertices.get(0)));
+        this.cache.getUnitGraph(this.vertices.get(1));
+        assertEquals("Evicted unit graph should be rebuilt.", 4, this.cache.getBuilds());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityIllegalArgumentException() {
+        new UnitGraphCache(0);
+    }
+}
@@ -0,0 +1,61 @@
+package phd.research.graph;
+
+import org.junit.Before;
+import org.junit.Test;
+import phd.research.vertices.DefaultVertex;
+import phd.research.vertices.UnitVertex;
+import soot.*;
+import soot.jimple.Jimple;
+import soot.jimple.JimpleBody;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class UnitGraphTest {
+
+    private List<Unit> units;
+    private UnitGraph unitGraph;
+
+    @Before
+    public void setUp() {
+        DefaultVertex.resetIdSequence();
+        SootClass clazz = new SootClass("com.example.UnitGraphClass");
+        SootMethod method = new SootMethod("method", Collections.emptyList(), VoidType.v());
+        clazz.addMethod(method);
+        JimpleBody body = Jimple.v().newBody(method);
+        body.getUnits().add(Jimple.v().newNopStmt());
+        body.getUnits().add(Jimple.v().newNopStmt());
+        body.getUnits().add(Jimple.v().newReturnVoidStmt());
+        method.setActiveBody(body);
+
+        this.units = new ArrayList<>(body.getUnits());
+        this.unitGraph = new UnitGraph(body);
+    }
+
+    @Test
+    public void testUnitVerticesByIdentity() {
+        assertEquals("Every unit should have a vertex.", 3, this.unitGraph.getUnitVertices().size());
+        UnitVertex first = this.unitGraph.getUnitVertex(this.units.get(0));
+        assertNotNull("Unit vertex should be found by its unit.", first);
+        assertEquals("Wrong statement for unit.", "nop", first.getUnit());
+        assertEquals("Wrong statement for last unit.", "return",
+                this.unitGraph.getUnitVertex(this.units.get(2)).getUnit()
+                    );
+        assertNull("Unit of another body should not be found.", this.unitGraph.getUnitVertex(Jimple.v().newNopStmt()));
+    }
+
+    @Test
+    public void testIdenticalStatementsShareVertex() {
+        assertSame("Identical statements should share a vertex.", this.unitGraph.getUnitVertex(this.units.get(0)),
+                this.unitGraph.getUnitVertex(this.units.get(1))
+                  );
+        assertEquals("Wrong number of unit vertices.", 2, this.unitGraph.getGraph().vertexSet().size());
+    }
+}
@@ -0,0 +1,112 @@
+package phd.research.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DefaultListenableGraph;
+import org.junit.Before;
+import org.junit.Test;
+import phd.research.vertices.*;
+import soot.Unit;
+import soot.jimple.Jimple;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class VertexIndexTest {
+
+    private final String ACTIVITY = "com.example.lifecycle.ActivityA";
+    private final String CONTROL_NAME = "btn_click_A";
+    private final int RESOURCE_ID = 123456789;
+
+    private VertexIndex index;
+    private Graph<Vertex, DefaultEdge> graph;
+
+    @Before
+    public void setUp() {
+        DefaultVertex.resetIdSequence();
+        this.index = new VertexIndex();
+        DefaultListenableGraph<Vertex, DefaultEdge> listenableGraph =
+                new DefaultListenableGraph<>(new DefaultDirectedGraph<>(DefaultEdge.class));
+        listenableGraph.addVertexSetListener(this.index);
+        this.graph = listenableGraph;
+    }
+
+    @Test
+    public void testMethodVertexLookup() {
+        MethodVertex vertex = new ListenerVertex(MethodVertexTest.SIGNATURE);
+        assertNull("Method vertex should not be indexed before it is added.",
+                this.index.getMethodVertex(MethodVertexTest.SIGNATURE)
+                  );
+
+        this.graph.addVertex(vertex);
+        assertSame("Wrong method vertex returned.", vertex, this.index.getMethodVertex(MethodVertexTest.SIGNATURE));
+
+        this.graph.removeVertex(vertex);
+        assertNull("Method vertex should be removed from the index.",
+                this.index.getMethodVertex(MethodVertexTest.SIGNATURE)
+                  );
+    }
+
+    @Test
+    public void testFirstMethodVertexKept() {
+        MethodVertex first = new MethodVertex(MethodVertexTest.SIGNATURE);
+        MethodVertex second = new MethodVertex(MethodVertexTest.SIGNATURE);
+        this.graph.addVertex(first);
+        this.graph.addVertex(second);
+        assertSame("First method vertex should be returned.", first,
+                this.index.getMethodVertex(MethodVertexTest.SIGNATURE)
+                  );
+    }
+
+    @Test
+    public void testControlVertexLookup() {
+        ControlVertex vertex = new ControlVertex(
+                new Control(RESOURCE_ID, CONTROL_NAME, RESOURCE_ID, "activity_a.xml", ACTIVITY,
+                        Collections.emptyList()
+                ));
+        this.graph.addVertex(vertex);
+
+        assertSame("Wrong control returned for name.", vertex, this.index.getControlVertex(ACTIVITY, CONTROL_NAME));
+        assertSame("Wrong control returned for id.", vertex, this.index.getControlVertex(ACTIVITY, RESOURCE_ID));
+        assertNull("Control should not be found in other activity.", this.index.getControlVertex("Other", RESOURCE_ID));
+    }
+
+    @Test
+    public void testExistingVertices() {
+        MethodVertex vertex = new MethodVertex(MethodVertexTest.SIGNATURE);
+        VertexIndex vertexIndex = new VertexIndex(Collections.singletonList(vertex));
+        assertSame("Existing vertex not indexed.", vertex, vertexIndex.getMethodVertex(MethodVertexTest.SIGNATURE));
+    }
+
+    @Test
+    public void testUnitVertexLookup() {
+        Unit first = Jimple.v().newNopStmt();
+        Unit second = Jimple.v().newNopStmt();
+        Unit other = Jimple.v().newReturnVoidStmt();
+        UnitVertex nop = new UnitVertex(MethodVertexTest.SIGNATURE, "nop");
+        UnitVertex ret = new UnitVertex(MethodVertexTest.SIGNATURE, "return");
+        Map<Unit, UnitVertex> unitVertices = new IdentityHashMap<>();
+        unitVertices.put(first, nop);
+        unitVertices.put(second, nop);
+        unitVertices.put(other, ret);
+        this.graph.addVertex(nop);
+        this.graph.addVertex(ret);
+        this.index.addUnitVertices(unitVertices);
+        assertSame("Wrong unit vertex for first unit.", nop, this.index.getUnitVertex(first));
+        assertSame("Identical statement should share the unit vertex.", nop, this.index.getUnitVertex(second));
+
+        this.graph.removeVertex(nop);
+        assertNull("Removed unit vertex should not be returned.", this.index.getUnitVertex(first));
+        assertNull("Every unit of a removed vertex should be dropped.", this.index.getUnitVertex(second));
+        assertSame("Other unit vertices should be kept.", ret, this.index.getUnitVertex(other));
+    }
+}
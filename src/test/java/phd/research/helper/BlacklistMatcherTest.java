@@ -0,0 +1,61 @@
+package phd.research.helper;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class BlacklistMatcherTest {
+
+    @Test
+    public void testPackageBlacklist() {
+        BlacklistMatcher matcher = BlacklistMatcher.forPackages(Arrays.asList("androidx", "android", ".databinding"));
+        assertTrue("Package prefix should match.", matcher.matches("android.view"));
+        assertTrue("Longer package prefix should match.", matcher.matches("androidx.fragment.app"));
+        assertTrue("Substring entry should match anywhere.", matcher.matches("com.example.databinding"));
+        assertFalse("Prefix entry should not match mid name.", matcher.matches("com.example.android"));
+        assertFalse("Unlisted package should not match.", matcher.matches("com.example.lifecycle"));
+    }
+
+    @Test
+    public void testOverlappingSubstrings() {
+        BlacklistMatcher matcher = BlacklistMatcher.forSubstrings(Arrays.asList("he", "she", "hers", "R$"));
+        assertTrue("Substring reached through a failure link should match.", matcher.matches("ushers"));
+        assertTrue("Suffix of a partial match should match.", matcher.matches("shhe"));
+        assertTrue("Inner class marker should match.", matcher.matches("R$id"));
+        assertFalse("Partial match should not match.", matcher.matches("shr"));
+    }
+
+    @Test
+    public void testEmptyBlacklist() {
+        BlacklistMatcher matcher = new BlacklistMatcher(Collections.emptyList(), Collections.emptyList());
+        assertFalse("Empty blacklist should match nothing.", matcher.matches("android.view"));
+    }
+
+    @Test
+    public void testMatchesNaiveBlacklist() {
+        List<String> entries = Arrays.asList("ab", "abc", ".bca", "ca", ".aab", "b.c");
+        BlacklistMatcher matcher = BlacklistMatcher.forPackages(entries);
+
+        Random random = new Random(42);
+        char[] alphabet = {'a', 'b', 'c', '.'};
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder builder = new StringBuilder();
+            for (int j = random.nextInt(10); j > 0; j--) {
+                builder.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            String name = builder.toString();
+            boolean expected = entries.stream().anyMatch(
+                    entry -> entry.startsWith(".") ? name.contains(entry) : name.startsWith(entry));
+            assertEquals("Wrong match for " + name + ".", expected, matcher.matches(name));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package phd.research.helper;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.Before;
+import org.junit.Test;
+import phd.research.enums.Verification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class ContentVerifierTest {
+
+    private Graph<String, DefaultEdge> graph;
+    private List<String> missing;
+
+    private List<String> findMissingControl() {
+        if (this.graph.containsVertex("control")) {
+            return Collections.emptyList();
+        }
+
+        this.missing.add("control");
+        return Collections.singletonList("Missing control.");
+    }
+
+    private List<String> checkControl() {
+        return this.graph.containsVertex("control") ? Collections.emptyList() :
+                Collections.singletonList("Graph does not contain the control.");
+    }
+
+    private ContentVerifier createVerifier(Verification verification) {
+        return new ContentVerifier(verification)
+                .addSearch(this::findMissingControl, () -> this.missing.forEach(this.graph::addVertex))
+                .addCheck(this::checkControl)
+                .addFullCheck(() -> Collections.singletonList("Full check ran."));
+    }
+
+    @Before
+    public void setUp() {
+        this.graph = new DefaultDirectedGraph<>(DefaultEdge.class);
+        this.graph.addVertex("method");
+        this.missing = new ArrayList<>();
+    }
+
+    @Test
+    public void testFullChecksSeeRepairedGraph() {
+        List<String> findings = this.createVerifier(Verification.FULL).verify();
+
+        assertTrue("Missing control should be added to the graph.", this.graph.containsVertex("control"));
+        assertEquals("Checks should run on the repaired graph.", Arrays.asList("Missing control.", "Full check ran."),
+                findings
+                    );
+    }
+
+    @Test
+    public void testFastRepairsGraph() {
+        List<String> findings = this.createVerifier(Verification.FAST).verify();
+
+        assertTrue("Fast verification should still add missing components.", this.graph.containsVertex("control"));
+        assertEquals("Fast verification should skip full checks.", Collections.singletonList("Missing control."),
+                findings
+                    );
+    }
+
+    @Test
+    public void testOffSkipsEverything() {
+        List<String> findings = this.createVerifier(Verification.OFF).verify();
+
+        assertTrue("No findings should be reported.", findings.isEmpty());
+        assertFalse("Graph should not be repaired.", this.graph.containsVertex("control"));
+    }
+
+    @Test
+    public void testFindingsMergedInCheckOrder() {
+        ContentVerifier verifier = new ContentVerifier(Verification.FULL);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            String finding = "Finding " + i;
+            long delay = 16 - i;
+            verifier.addCheck(() -> {
+                Thread.sleep(delay);
+                return Collections.singletonList(finding);
+            });
+            expected.add(finding);
+        }
+
+        assertEquals("Findings should be merged in check order.", expected, verifier.verify());
+    }
+}
@@ -0,0 +1,63 @@
+package phd.research.helper;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.Test;
+import phd.research.graph.CompactGraph;
+import phd.research.vertices.MethodVertex;
+import phd.research.vertices.UnitVertex;
+import phd.research.vertices.Vertex;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class FootprintReportTest {
+
+    private final String SIGNATURE = "<com.example.lifecycle.ActivityA: void onCreate(android.os.Bundle)>";
+
+    @Test
+    public void testSharedStringsCountedOnce() {
+        String signature = new String(SIGNATURE);
+        assertEquals("Shared string should only be counted once.", FootprintReport.estimateString(signature),
+                FootprintReport.estimateStrings(Arrays.asList(signature, signature))
+                    );
+        assertEquals("Distinct strings should both be counted.", 2 * FootprintReport.estimateString(signature),
+                FootprintReport.estimateStrings(Arrays.asList(signature, new String(SIGNATURE)))
+                    );
+    }
+
+    @Test
+    public void testEstimateGraph() {
+        Graph<Vertex, DefaultEdge> graph = new DefaultDirectedGraph<>(DefaultEdge.class);
+        Vertex method = new MethodVertex(SIGNATURE);
+        graph.addVertex(method);
+        long empty = FootprintReport.estimateGraph(graph);
+
+        Vertex unit = new UnitVertex(SIGNATURE, "return");
+        graph.addVertex(unit);
+        graph.addEdge(method, unit);
+        assertTrue("Estimate should grow with the graph.", FootprintReport.estimateGraph(graph) > empty);
+        assertTrue("Compact graph should be estimated smaller.",
+                FootprintReport.estimateGraph(new CompactGraph(graph)) < FootprintReport.estimateGraph(graph)
+                  );
+    }
+
+    @Test
+    public void testTableString() {
+        FootprintReport footprint = new FootprintReport();
+        footprint.sample("start");
+        footprint.addStructure("Call graph", 10, 2048);
+        assertEquals("Wrong number of samples.", 1, footprint.getSampleCount());
+
+        String table = footprint.toTableString();
+        assertTrue("Table should contain the stage.", table.contains("start"));
+        assertTrue("Table should contain the structure.", table.contains("Call graph"));
+        assertTrue("Table should contain the estimated size.", table.contains("2.0 KB"));
+    }
+}
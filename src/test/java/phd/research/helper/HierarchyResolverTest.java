@@ -0,0 +1,72 @@
+package phd.research.helper;
+
+import org.junit.Before;
+import org.junit.Test;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.VoidType;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class HierarchyResolverTest {
+
+    private final String SUB_SIGNATURE = "void onCreate()";
+
+    private SootClass base;
+    private SootClass middle;
+    private SootClass child;
+    private SootMethod method;
+
+    @Before
+    public void setUp() {
+        HierarchyResolver.clear();
+        this.base = new SootClass("com.example.BaseActivity");
+        this.middle = new SootClass("com.example.MiddleActivity");
+        this.middle.setSuperclass(this.base);
+        this.child = new SootClass("com.example.ChildActivity");
+        this.child.setSuperclass(this.middle);
+
+        this.method = new SootMethod("onCreate", Collections.emptyList(), VoidType.v());
+        this.base.addMethod(this.method);
+    }
+
+    @Test
+    public void testResolveSuperclassMethod() {
+        assertSame("Method should be resolved from the base class.", this.method,
+                HierarchyResolver.resolveSuperclassMethod(this.child, SUB_SIGNATURE)
+                  );
+        assertNull("Base class has no superclass to resolve from.",
+                HierarchyResolver.resolveSuperclassMethod(this.base, SUB_SIGNATURE)
+                  );
+        assertNull("Unknown method should not be resolved.",
+                HierarchyResolver.resolveSuperclassMethod(this.child, "void onPause()")
+                  );
+    }
+
+    @Test
+    public void testAncestorLookupsShared() {
+        HierarchyResolver.resolveMethod(this.child, SUB_SIGNATURE);
+        long misses = HierarchyResolver.getMisses();
+        assertSame("Middle class should resolve from the cache.", this.method,
+                HierarchyResolver.resolveMethod(this.middle, SUB_SIGNATURE)
+                  );
+        assertEquals("Ancestor lookup should not miss again.", misses, HierarchyResolver.getMisses());
+    }
+
+    @Test
+    public void testResolveClass() {
+        SceneCache<Pair<SootClass, Integer>, SootClass> cache = new SceneCache<>();
+        assertSame("First matching class in the chain should be returned.", this.middle,
+                HierarchyResolver.resolveClass(cache, this.child, 1, (clazz, id) -> clazz == this.middle)
+                  );
+        assertNull("No class should match.",
+                HierarchyResolver.resolveClass(cache, this.child, 2, (clazz, id) -> false)
+                  );
+    }
+}
@@ -0,0 +1,55 @@
+package phd.research.helper;
+
+import org.junit.Before;
+import org.junit.Test;
+import soot.G;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class SceneCacheTest {
+
+    private SceneCache<String, String> cache;
+    private AtomicInteger loads;
+
+    @Before
+    public void setUp() {
+        this.cache = new SceneCache<>();
+        this.loads = new AtomicInteger();
+    }
+
+    private String load(String key) {
+        this.loads.incrementAndGet();
+        return key.startsWith("missing") ? null : key.toUpperCase();
+    }
+
+    @Test
+    public void testValueLoadedOnce() {
+        assertEquals("Wrong value loaded.", "VALUE", this.cache.get("value", this::load));
+        assertEquals("Wrong value cached.", "VALUE", this.cache.get("value", this::load));
+        assertEquals("Value should only be loaded once.", 1, this.loads.get());
+        assertEquals("Wrong number of hits.", 1, this.cache.getHits());
+        assertEquals("Wrong number of misses.", 1, this.cache.getMisses());
+    }
+
+    @Test
+    public void testFailureCached() {
+        assertNull("Failed lookup should return null.", this.cache.get("missing", this::load));
+        assertNull("Failed lookup should stay null.", this.cache.get("missing", this::load));
+        assertEquals("Failed lookup should only be loaded once.", 1, this.loads.get());
+    }
+
+    @Test
+    public void testClearedOnSootReset() {
+        this.cache.get("value", this::load);
+        G.reset();
+        this.cache.get("value", this::load);
+        assertEquals("Value should be reloaded for a new Scene.", 2, this.loads.get());
+        assertEquals("Wrong cache size.", 1, this.cache.size());
+    }
+}
@@ -0,0 +1,51 @@
+package phd.research.helper;
+
+import org.junit.Before;
+import org.junit.Test;
+import phd.research.vertices.MethodVertex;
+import phd.research.vertices.UnitVertex;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class SignaturePoolTest {
+
+    private final String SIGNATURE = "<com.example.lifecycle.ActivityA: void onCreate(android.os.Bundle)>";
+
+    @Before
+    public void setUp() {
+        SignaturePool.clear();
+    }
+
+    @Test
+    public void testIntern() {
+        String first = SignaturePool.intern(new String(SIGNATURE));
+        String second = SignaturePool.intern(new String(SIGNATURE));
+        assertSame("Equal signatures should share one instance.", first, second);
+        assertNull("Null signature should stay null.", SignaturePool.intern(null));
+    }
+
+    @Test
+    public void testVerticesShareSignature() {
+        MethodVertex method = new MethodVertex(new String(SIGNATURE));
+        UnitVertex unit = new UnitVertex(new String(SIGNATURE), "return");
+        assertSame("Vertices should share the pooled signature.", method.getMethodSignature(),
+                unit.getMethodSignature()
+                  );
+    }
+
+    @Test
+    public void testClear() {
+        String first = SignaturePool.intern(new String(SIGNATURE));
+        assertEquals("Pool should hold one signature.", 1, SignaturePool.size());
+
+        SignaturePool.clear();
+        assertEquals("Pool should be empty after clear.", 0, SignaturePool.size());
+        assertNotSame("Signature should be pooled again after clear.", first,
+                SignaturePool.intern(new String(SIGNATURE))
+                     );
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import phd.research.enums.Format;
+import phd.research.enums.Verification;
 
 import java.io.File;
 import java.io.IOException;
@@ -98,6 +99,43 @@ public class GraphSettingsTest {
 
     }
 
+    @Test
+    public void testSetThreads() {
+        assertEquals("Default number of threads is not 1.", 1, this.settings.getThreads());
+        this.settings.setThreads(8);
+        assertEquals("Wrong number of threads returned after change.", 8, this.settings.getThreads());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThreadsIllegalArgumentException() {
+        this.settings.setThreads(0);
+    }
+
+    @Test
+    public void testSetUnitGraphCacheSize() {
+        assertEquals("Wrong default unit graph cache size returned.", 256, this.settings.getUnitGraphCacheSize());
+        this.settings.setUnitGraphCacheSize(16);
+        assertEquals("Wrong unit graph cache size returned after change.", 16, this.settings.getUnitGraphCacheSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnitGraphCacheSizeIllegalArgumentException() {
+        this.settings.setUnitGraphCacheSize(0);
+    }
+
+    @Test
+    public void testSetFollowPort() {
+        assertFalse("Following should be off by default.", this.settings.isFollowDynamicAnalysis());
+        this.settings.setFollowPort(5037);
+        assertEquals("Wrong follow port returned after change.", 5037, this.settings.getFollowPort());
+        assertTrue("Following should be on after setting a port.", this.settings.isFollowDynamicAnalysis());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFollowPortIllegalArgumentException() {
+        this.settings.setFollowPort(70000);
+    }
+
     @Test
     public void testSetFormat() {
         assertEquals("Default format is not set correctly.", Format.JSON, this.settings.getFormat());
@@ -106,6 +144,13 @@ public class GraphSettingsTest {
 
     }
 
+    @Test
+    public void testSetVerification() {
+        assertEquals("Default verification is not FULL.", Verification.FULL, this.settings.getVerification());
+        this.settings.setVerification(Verification.FAST);
+        assertEquals("Wrong verification returned after change.", Verification.FAST, this.settings.getVerification());
+    }
+
     @Test
     public void testSetPlatformDirectory() throws IOException {
         String defaultPlatformDirectory = System.getenv("ANDROID_HOME") + File.separator + "platforms";
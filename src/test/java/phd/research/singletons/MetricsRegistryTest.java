@@ -0,0 +1,91 @@
+package phd.research.singletons;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import phd.research.helper.PhaseMetrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class MetricsRegistryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        MetricsRegistry.v().reset();
+    }
+
+    @Test
+    public void testPhaseAccumulates() {
+        PhaseMetrics metrics = MetricsRegistry.v().startPhase(MetricsRegistry.FILTERING);
+        assertTrue("Phase should be running.", metrics.isRunning());
+        metrics.end();
+        MetricsRegistry.v().startPhase(MetricsRegistry.FILTERING).end();
+
+        assertSame("Phase should be reused.", metrics, MetricsRegistry.v().getPhase(MetricsRegistry.FILTERING));
+        assertEquals("Wrong number of runs.", 2, metrics.getRuns());
+        assertTrue("Wall time should be recorded.", metrics.getWallTime() > 0);
+        assertEquals("Wrong number of phases.", 1, MetricsRegistry.v().getPhases().size());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testEndWithoutStart() {
+        MetricsRegistry.v().getPhase(MetricsRegistry.EXPORT).end();
+    }
+
+    @Test
+    public void testStalePhaseRestarted() {
+        MetricsRegistry.v().startPhase(MetricsRegistry.CONTROL_PARSING);
+        PhaseMetrics metrics = MetricsRegistry.v().startPhase(MetricsRegistry.CONTROL_PARSING);
+        assertTrue("Restarted phase should be running.", metrics.isRunning());
+        metrics.end();
+        assertEquals("Stale run should be discarded.", 1, metrics.getRuns());
+    }
+
+    @Test
+    public void testCacheHitRate() {
+        PhaseMetrics metrics = MetricsRegistry.v().getPhase(MetricsRegistry.DYNAMIC_ANALYSIS);
+        metrics.setCacheStatistics("methodResolution", 3, 1);
+        assertEquals("Wrong hit rate.", 0.75, metrics.getCacheHitRate("methodResolution"), 0.0001);
+        assertEquals("Unknown cache should have no hit rate.", -1, metrics.getCacheHitRate("unknown"), 0.0001);
+    }
+
+    @Test
+    public void testFootprintSampledAtPhaseEnd() {
+        assertNull("Footprint should be opt-in.", MetricsRegistry.v().getFootprint());
+        MetricsRegistry.v().enableFootprint();
+        MetricsRegistry.v().startPhase(MetricsRegistry.SOOT_INITIALISATION).end();
+        MetricsRegistry.v().startPhase(MetricsRegistry.FLOWDROID).end();
+        assertEquals("Each phase end should be sampled.", 2, MetricsRegistry.v().getFootprint().getSampleCount());
+    }
+
+    @Test
+    public void testWriteReport() throws IOException {
+        PhaseMetrics metrics = MetricsRegistry.v().startPhase(MetricsRegistry.UNIT_GRAPHS);
+        metrics.setCount("vertices", 12);
+        metrics.setCacheStatistics("methodResolution", 1, 1);
+        metrics.end();
+
+        MetricsRegistry.v().writeReport(this.folder.getRoot());
+        String report = new String(Files.readAllBytes(
+                new File(this.folder.getRoot(), MetricsRegistry.REPORT_FILE).toPath()));
+        assertTrue("Report should name the phase.", report.contains("\"name\": \"unit_graphs\""));
+        assertTrue("Report should contain counts.", report.contains("\"counts\": {\"vertices\": 12}"));
+        assertTrue("Report should contain hit rates.", report.contains("\"hitRate\": 0.5000"));
+        assertTrue("Allocation should be labelled as the caller thread's.",
+                report.contains("\"callerThreadAllocatedBytes\": ")
+                  );
+        assertTrue("Report should be a JSON object.", report.startsWith("{") && report.trim().endsWith("}"));
+    }
+}
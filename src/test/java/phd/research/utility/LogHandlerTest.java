@@ -0,0 +1,117 @@
+package phd.research.utility;
+
+import org.junit.Before;
+import org.junit.Test;
+import phd.research.helper.Tuple;
+import soot.*;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class LogHandlerTest {
+
+    private static final String ACTIVITY = "com.example.LogActivity";
+
+    private SootClass activity;
+    private SootMethod onCreate;
+    private SootMethod onClick;
+
+    private static SootMethod addMethod(SootClass clazz, String name, Type parameter) {
+        SootMethod method = new SootMethod(name, Collections.singletonList(parameter), VoidType.v());
+        clazz.addMethod(method);
+        return method;
+    }
+
+    @Before
+    public void setUp() {
+        G.reset();
+        this.activity = new SootClass(LogHandlerTest.ACTIVITY);
+        Scene.v().addClass(this.activity);
+        this.onCreate = LogHandlerTest.addMethod(this.activity, "onCreate", RefType.v("android.os.Bundle"));
+
+        SootClass listener = new SootClass(LogHandlerTest.ACTIVITY + "$1");
+        listener.setOuterClass(this.activity);
+        Scene.v().addClass(listener);
+        this.onClick = LogHandlerTest.addMethod(listener, "onClick", RefType.v("android.view.View"));
+    }
+
+    @Test
+    public void testMethodMessage() {
+        Tuple<Integer, SootClass, SootMethod> logData = LogHandler.parseLogMessage(
+                "D/Logger: " + LogHandler.M_TAG + " Method: <" + LogHandlerTest.ACTIVITY +
+                        ": void onCreate(android.os.Bundle)>");
+
+        assertNotNull("Method message should be parsed.", logData);
+        assertEquals("Method message should have no control id.", Integer.valueOf(-1), logData.getLeft());
+        assertSame("Wrong class resolved.", this.activity, logData.getMiddle());
+        assertSame("Wrong method resolved.", this.onCreate, logData.getRight());
+    }
+
+    @Test
+    public void testControlMessage() {
+        Tuple<Integer, SootClass, SootMethod> logData = LogHandler.parseLogMessage(
+                "D/Logger: " + LogHandler.C_TAG + " Method: <" + LogHandlerTest.ACTIVITY +
+                        "$1: void onClick(android.view.View)> View: 2131230721");
+
+        assertNotNull("Control message should be parsed.", logData);
+        assertEquals("Wrong control id.", Integer.valueOf(2131230721), logData.getLeft());
+        assertSame("Inner class should resolve to its outer class.", this.activity, logData.getMiddle());
+        assertSame("Wrong method resolved.", this.onClick, logData.getRight());
+    }
+
+    @Test
+    public void testQuotedSignature() {
+        Tuple<Integer, SootClass, SootMethod> logData = LogHandler.parseLogMessage(
+                "D/Logger: " + LogHandler.M_TAG + " Method: <'" + LogHandlerTest.ACTIVITY +
+                        "': void 'onCreate'(android.os.Bundle)>");
+
+        assertNotNull("Quoted message should be parsed.", logData);
+        assertSame("Quotes should be removed before resolving.", this.onCreate, logData.getRight());
+    }
+
+    @Test
+    public void testResolutionCached() {
+        String message = "D/Logger: " + LogHandler.M_TAG + " Method: <" + LogHandlerTest.ACTIVITY +
+                ": void onCreate(android.os.Bundle)>";
+        LogHandler.parseLogMessage(message);
+        long hits = LogHandler.getResolutionHits();
+
+        assertSame("Cached method should be returned.", this.onCreate, LogHandler.parseLogMessage(message).getRight());
+        assertEquals("Second lookup should hit the cache.", hits + 1, LogHandler.getResolutionHits());
+    }
+
+    @Test
+    public void testNegativeCacheHit() {
+        String message = "D/Logger: " + LogHandler.M_TAG + " Method: <com.example.Missing: void run()>";
+        assertNull("Unknown class should not be resolved.", LogHandler.parseLogMessage(message));
+        long hits = LogHandler.getResolutionHits();
+
+        assertNull("Cached failure should not be resolved.", LogHandler.parseLogMessage(message));
+        assertEquals("Failed lookup should hit the cache.", hits + 1, LogHandler.getResolutionHits());
+        assertFalse("Lookup should not add classes to the Scene.", Scene.v().containsClass("com.example.Missing"));
+    }
+
+    @Test
+    public void testUnknownMethod() {
+        assertNull("Unknown method should not be resolved.", LogHandler.parseLogMessage(
+                "D/Logger: " + LogHandler.M_TAG + " Method: <" + LogHandlerTest.ACTIVITY + ": void onStop()>"));
+    }
+
+    @Test
+    public void testMalformedMessages() {
+        assertNull("Message without a tag should be rejected.",
+                LogHandler.parseLogMessage("D/Logger: Method: <" + LogHandlerTest.ACTIVITY + ": void run()>")
+                  );
+        assertNull("Message without a signature should be rejected.",
+                LogHandler.parseLogMessage("D/Logger: " + LogHandler.M_TAG + " Method: onCreate")
+                  );
+        assertNull("Control message without a view id should be rejected.", LogHandler.parseLogMessage(
+                "D/Logger: " + LogHandler.C_TAG + " Method: <" + LogHandlerTest.ACTIVITY +
+                        ": void onCreate(android.os.Bundle)> View: none"));
+    }
+}
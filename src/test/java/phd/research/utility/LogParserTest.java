@@ -0,0 +1,108 @@
+package phd.research.utility;
+
+import org.junit.Before;
+import org.junit.Test;
+import phd.research.helper.Tuple;
+import soot.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Jordan Doyle
+ */
+
+public class LogParserTest {
+
+    private static final String ACTIVITY = "com.example.ParserActivity";
+    private static final int LINES = 10000;
+
+    private String log;
+
+    private static String createLog() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < LogParserTest.LINES; i++) {
+            if (i % 3 == 0) {
+                // Controls switch between listeners, so some repeats change the graph and some do not.
+                builder.append("D/Logger: ").append(LogHandler.C_TAG).append(" Method: <")
+                        .append(LogParserTest.ACTIVITY).append(": void onClick").append(i % 4)
+                        .append("(android.view.View)> View: ").append(i % 7).append("\n");
+            } else {
+                builder.append("D/Logger: ").append(LogHandler.M_TAG).append(" Method: <")
+                        .append(LogParserTest.ACTIVITY).append(": void method").append(i % 50).append("()>\n");
+            }
+            if (i % 100 == 0) {
+                builder.append("D/Logger: unrelated line\n");
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String format(Tuple<Integer, SootClass, SootMethod> record) {
+        return record.getLeft() + " " + record.getMiddle().getName() + " " + record.getRight().getSubSignature();
+    }
+
+    private Tuple<Integer, LogParser, List<List<String>>> parse(int threads) throws IOException {
+        List<List<String>> batches = new ArrayList<>();
+        LogParser parser = new LogParser(threads, LogHandler::parseLogMessage, records -> {
+            List<String> batch = new ArrayList<>();
+            records.forEach(record -> batch.add(LogParserTest.format(record)));
+            batches.add(batch);
+        });
+        parser.parse(new BufferedReader(new StringReader(this.log)));
+        return new Tuple<>(threads, parser, batches);
+    }
+
+    @Before
+    public void setUp() {
+        G.reset();
+        SootClass activity = new SootClass(LogParserTest.ACTIVITY);
+        Scene.v().addClass(activity);
+        for (int i = 0; i < 50; i++) {
+            activity.addMethod(new SootMethod("method" + i, Collections.emptyList(), VoidType.v()));
+        }
+        for (int i = 0; i < 4; i++) {
+            activity.addMethod(new SootMethod("onClick" + i, Collections.singletonList(RefType.v("android.view.View")),
+                    VoidType.v()
+            ));
+        }
+        this.log = LogParserTest.createLog();
+    }
+
+    @Test
+    public void testParallelMatchesSequential() throws IOException {
+        Tuple<Integer, LogParser, List<List<String>>> sequential = this.parse(1);
+        Tuple<Integer, LogParser, List<List<String>>> parallel = this.parse(4);
+
+        assertTrue("Log should span several chunks.", sequential.getRight().size() > 1);
+        assertEquals("Records should be written in log order.", sequential.getRight(), parallel.getRight());
+        assertEquals("Wrong number of records.", LogParserTest.LINES, parallel.getMiddle().getRecords());
+        assertEquals("Duplicates should match the sequential parser.", sequential.getMiddle().getDuplicates(),
+                parallel.getMiddle().getDuplicates()
+                    );
+    }
+
+    @Test
+    public void testDuplicatesSkipped() throws IOException {
+        Tuple<Integer, LogParser, List<List<String>>> result = this.parse(4);
+        List<String> written = new ArrayList<>();
+        result.getRight().forEach(written::addAll);
+
+        assertEquals("Every record should be written or skipped.", LogParserTest.LINES,
+                written.size() + result.getMiddle().getDuplicates()
+                    );
+        assertEquals("Each method record should only be written once.", 50,
+                written.stream().filter(record -> record.startsWith("-1 ")).count()
+                    );
+        assertTrue("Control records should be written when their listener changes.",
+                written.contains("0 " + LogParserTest.ACTIVITY + " void onClick0(android.view.View)") &&
+                        written.contains("0 " + LogParserTest.ACTIVITY + " void onClick3(android.view.View)")
+                  );
+    }
+}
@@ -51,6 +51,7 @@ public class AndroGuardVertexTest {
 
     @Test
     public void testEquals() {
-        EqualsVerifier.forClass(AndroGuardVertex.class).withIgnoredFields("jimpleSignature").verify();
+        EqualsVerifier.forClass(AndroGuardVertex.class).withIgnoredFields("jimpleSignature")
+                .withCachedHashCode("hash", "computeHash", this.vertex).verify();
     }
 }
\ No newline at end of file
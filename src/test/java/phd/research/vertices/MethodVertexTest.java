@@ -8,6 +8,8 @@ import phd.research.enums.Color;
 import phd.research.enums.Shape;
 import phd.research.enums.Style;
 import phd.research.enums.Type;
+import soot.Body;
+import soot.jimple.JimpleBody;
 
 import java.util.Map;
 
@@ -75,6 +77,7 @@ public class MethodVertexTest {
     @Test
     public void testEquals() {
         EqualsVerifier.forClass(MethodVertex.class).withRedefinedSuperclass().withIgnoredFields("visit", "localVisit")
-                .verify();
+                .withPrefabValues(Body.class, new JimpleBody(), new JimpleBody())
+                .withCachedHashCode("hash", "computeHash", this.vertex).verify();
     }
 }
\ No newline at end of file
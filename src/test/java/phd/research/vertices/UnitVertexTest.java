@@ -87,6 +87,6 @@ public class UnitVertexTest {
     @Test
     public void testEquals() {
         EqualsVerifier.forClass(UnitVertex.class).withRedefinedSuperclass().withIgnoredFields("id","visit",
-                        "localVisit").verify();
+                        "localVisit").withCachedHashCode("hash", "computeHash", this.vertex).verify();
     }
 }
\ No newline at end of file